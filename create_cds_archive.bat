@@ -0,0 +1,9 @@
+@echo off
+rem Generates an AppCDS archive (JDK 13+) from a GUI and a CLI training run.
+rem run_ALU.bat picks up ALU.jsa automatically when it exists.
+cd src
+javac -d ..\out *.java
+cd ..
+java -XX:ArchiveClassesAtExit=ALU.jsa -cp out Main --startup-benchmark gui
+java -XX:SharedArchiveFile=ALU.jsa -cp out Main --startup-benchmark cli
+java -XX:SharedArchiveFile=ALU.jsa -cp out Main --startup-benchmark gui
@@ -1,4 +1,9 @@
 @echo off
 cd src
-javac *.java
-java Main
+javac -d ..\out *.java
+cd ..
+if exist ALU.jsa (
+    java -XX:SharedArchiveFile=ALU.jsa -cp out Main %*
+) else (
+    java -cp out Main %*
+)
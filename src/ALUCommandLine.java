@@ -0,0 +1,201 @@
+// Headless entry point. Only references ALULogic and plain java.* classes so that
+// command-line evaluation never pays for AWT/Swing class loading.
+public class ALUCommandLine {
+
+    public static void run(String[] args) {
+        if (args[0].equals("--help") || args[0].equals("-h")) {
+            printUsage();
+        } else if (args[0].equals("--startup-benchmark")) {
+            String mode = args.length > 1 ? args[1] : "cli";
+            if (mode.equals("gui")) {
+                StartupBenchmark.runGui();
+            } else {
+                StartupBenchmark.runCli();
+            }
+        } else if (args[0].equals("--edt-monitor")) {
+            System.setProperty(EdtMonitor.PROPERTY, args.length > 1 ? args[1] : "true");
+            Main.launchGui();
+        } else if (args[0].equals("--softfloat-bench")) {
+            SoftFloatBenchmark.run(args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000);
+        } else if (args[0].equals("--history-bench")) {
+            HistoryIndexBenchmark.run(args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000);
+        } else if (args[0].equals("--wide-bench")) {
+            WideALUBenchmark.run(args.length > 1 ? Integer.parseInt(args[1]) : 200_000);
+        } else if (args[0].equals("--flow-bench")) {
+            ALUFlowBenchmark.run(args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000);
+        } else if (args[0].equals("--render-bench")) {
+            src.RenderCacheBenchmark.run(args.length > 1 ? Integer.parseInt(args[1]) : 2_000);
+        } else if (args[0].equals("--lut-bench")) {
+            LookupTableBenchmark.run(args.length > 1 ? Integer.parseInt(args[1]) : 20_000_000);
+        } else if (args[0].equals("--word-width") && args.length > 2) {
+            ALULogic alu = new ALULogic();
+            try {
+                alu.setWordWidth(Integer.parseInt(args[1]));
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                System.exit(2);
+            }
+            System.exit(evaluate(alu, java.util.Arrays.copyOfRange(args, 2, args.length)));
+        } else if (args[0].equals("--columnar") && args.length > 2) {
+            System.exit(processColumnar(args[1], args[2]));
+        } else if (args[0].equals("--columnar-dump") && args.length > 1) {
+            System.exit(dumpColumnar(args[1], args.length > 2 ? Integer.parseInt(args[2]) : 10));
+        } else if (args[0].equals("--columnar-bench")) {
+            ColumnarBenchmark.run(args.length > 1 ? Long.parseLong(args[1]) : 50_000_000L);
+        } else if (args[0].equals("--memory-image")) {
+            System.exit(evaluateWithImage(args));
+        } else if (args[0].equals("--micro-steps")) {
+            System.exit(microSteps(args));
+        } else {
+            System.exit(evaluate(args));
+        }
+    }
+
+    // Usage: <OPERATION> <a> [b] [Decimal|Binary|Hexadecimal]
+    static int evaluate(String[] args) {
+        return evaluate(new ALULogic(), args);
+    }
+
+    static int evaluate(ALULogic alu, String[] args) {
+        try {
+            ALUOperation operation = ALUOperation.fromKey(args[0]);
+            int required = operation.isUnary() ? 2 : 3;
+            if (args.length < required) {
+                System.err.println("Operation " + operation.getKey() + " needs "
+                    + (required - 1) + " operand(s)");
+                return 2;
+            }
+            String base = args.length > required ? args[required] : "Decimal";
+            int a, b;
+            if (operation.hasFloatOperands()) {
+                a = alu.parseFloatInput(args[1], base);
+                b = alu.parseFloatInput(args[2], base);
+            } else {
+                a = alu.parseInput(args[1], base);
+                b = operation.isUnary() ? 0 : alu.parseInput(args[2], base);
+            }
+            int result = operation.evaluate(alu, a, b);
+            String value = operation.hasFloatResult()
+                ? Float.toString(Float.intBitsToFloat(result))
+                : Integer.toString(result);
+            String hex = operation.hasFloatResult() ? String.format("0x%08X", result) : alu.toHexString(result);
+            System.out.println(value + " " + hex + " " + alu.getBinaryResult()
+                + (alu.getWordWidth() < 32 ? " " + formatFlags(alu.getFlags()) : ""));
+            return 0;
+        } catch (ArithmeticException e) {
+            System.err.println("Arithmetic error: " + e.getMessage());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number format: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        }
+        return 1;
+    }
+
+    // Usage: --memory-image <file> <LITTLE|BIG> <OPERATION> <a> [b] [base]
+    // The image is mapped copy-on-write, so STORE never modifies the file
+    static int evaluateWithImage(String[] args) {
+        if (args.length < 5) {
+            System.err.println("--memory-image needs a file, a byte order and an operation");
+            return 2;
+        }
+        ALULogic alu = new ALULogic();
+        try {
+            SimulatedMemory memory = SimulatedMemory.map(java.nio.file.Paths.get(args[1]));
+            if (args[2].equalsIgnoreCase("BIG")) {
+                memory.setByteOrder(java.nio.ByteOrder.BIG_ENDIAN);
+            } else if (!args[2].equalsIgnoreCase("LITTLE")) {
+                System.err.println("Byte order must be LITTLE or BIG");
+                return 2;
+            }
+            alu.setMemory(memory);
+        } catch (java.io.IOException | IllegalArgumentException e) {
+            System.err.println("Cannot map memory image: " + e.getMessage());
+            return 1;
+        }
+        return evaluate(alu, java.util.Arrays.copyOfRange(args, 3, args.length));
+    }
+
+    // Usage: --columnar <operand file> <result file>, see ColumnarFile for the format
+    static int processColumnar(String input, String output) {
+        try {
+            System.out.println(ColumnarFile.process(java.nio.file.Paths.get(input), java.nio.file.Paths.get(output)));
+            return 0;
+        } catch (java.io.IOException | IllegalArgumentException e) {
+            System.err.println("Columnar processing failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    static int dumpColumnar(String file, int rows) {
+        try {
+            ColumnarFile.dump(java.nio.file.Paths.get(file), rows);
+            return 0;
+        } catch (java.io.IOException | IllegalArgumentException e) {
+            System.err.println("Cannot read columnar file: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    // Usage: --micro-steps <ALGORITHM> <a> <b> [width]; decimal operands, streamed one step per line
+    static int microSteps(String[] args) {
+        if (args.length < 4) {
+            System.err.println("--micro-steps needs an algorithm and two operands");
+            return 2;
+        }
+        try {
+            MicroStepEngine.Algorithm algorithm = MicroStepEngine.Algorithm.valueOf(args[1].toUpperCase());
+            java.math.BigInteger a = new java.math.BigInteger(args[2]);
+            java.math.BigInteger b = new java.math.BigInteger(args[3]);
+            int width = args.length > 4 ? Integer.parseInt(args[4]) : 32;
+            java.util.Iterator<MicroStepEngine.MicroStep> steps = MicroStepEngine.iterator(algorithm, a, b, width);
+            int cycles = 0;
+            while (steps.hasNext()) {
+                MicroStepEngine.MicroStep step = steps.next();
+                System.out.println(step);
+                cycles = step.getCycle();
+            }
+            System.out.println(algorithm + ": " + cycles + " cycles (nominal "
+                + MicroStepEngine.nominalCycleCount(algorithm, width) + ")");
+            return 0;
+        } catch (ArithmeticException e) {
+            System.err.println("Arithmetic error: " + e.getMessage());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number format: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        }
+        return 1;
+    }
+
+    private static String formatFlags(int flags) {
+        return "flags=" + ((flags & LookupTableALU.FLAG_ZERO) != 0 ? "Z" : "-")
+            + ((flags & LookupTableALU.FLAG_NEGATIVE) != 0 ? "N" : "-")
+            + ((flags & LookupTableALU.FLAG_CARRY) != 0 ? "C" : "-")
+            + ((flags & LookupTableALU.FLAG_OVERFLOW) != 0 ? "V" : "-");
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage:");
+        System.out.println("  java Main                                  Launch the GUI");
+        System.out.println("  java Main <OP> <a> [b] [base]              Evaluate one operation");
+        System.out.println("  java Main --startup-benchmark [cli|gui]    Measure time to first result");
+        System.out.println("  java Main --edt-monitor [stall ms]         Launch the GUI with UI latency monitoring");
+        System.out.println("  java Main --softfloat-bench [count]        Verify and benchmark SoftFloat");
+        System.out.println("  java Main --history-bench [count]          Benchmark indexed history queries");
+        System.out.println("  java Main --wide-bench [iterations]        Check and benchmark WideALU against BigInteger");
+        System.out.println("  java Main --flow-bench [count]             Stream requests through ALUFlowProcessor");
+        System.out.println("  java Main --word-width <8|16|32> <OP> ...  Evaluate with a narrow word (lookup tables)");
+        System.out.println("  java Main --render-bench [iterations]      Time live versus cached painting of rounded shapes");
+        System.out.println("  java Main --lut-bench [lookups]            Time lookup table generation and lookups");
+        System.out.println("  java Main --columnar <in> <out>            Evaluate a columnar operand file into a result file");
+        System.out.println("  java Main --columnar-dump <file> [rows]    Print the first rows of a columnar file");
+        System.out.println("  java Main --columnar-bench [rows]          Generate, process and time columnar files");
+        System.out.println("  java Main --memory-image <file> <LITTLE|BIG> <OP> ...  Evaluate against a mapped memory image");
+        System.out.println("  java Main --micro-steps <ALG> <a> <b> [width]  Trace SHIFT_ADD, BOOTH_RADIX4, RESTORING or NON_RESTORING");
+        System.out.println("Operations: ADD SUBTRACT MULTIPLY DIVIDE MODULO LEFT RIGHT AND OR NOT");
+        System.out.println("            FADD FSUB FMUL FDIV FCMP (single precision, decimal input is a float)");
+        System.out.println("            LOAD <address>, STORE <address> <value> (one word of the current width)");
+        System.out.println("Bases: Decimal (default), Binary, Hexadecimal");
+    }
+}
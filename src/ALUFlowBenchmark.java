@@ -0,0 +1,156 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+// Pushes requests through an ALUFlowProcessor as fast as the upstream publisher allows and
+// reports throughput, error results and peak heap use, which should stay flat with count.
+// First checks that a subscriber cancelling from onNext while the upstream is blocked on
+// its full buffer ends the stream instead of deadlocking.
+public class ALUFlowBenchmark {
+    private static final ALUOperation[] OPERATIONS = {
+        ALUOperation.ADD, ALUOperation.SUBTRACT, ALUOperation.MULTIPLY, ALUOperation.DIVIDE,
+        ALUOperation.MODULO, ALUOperation.LEFT, ALUOperation.AND, ALUOperation.NOT, ALUOperation.FADD
+    };
+
+    public static void run(int count) {
+        System.out.println("Cancel from onNext with a full buffer: "
+            + (cancelInsideOnNext() ? "ok" : "DEADLOCK (stream did not end within 10 s)"));
+        ALUFlowProcessor processor = new ALUFlowProcessor();
+        CountingSubscriber subscriber = new CountingSubscriber();
+        processor.subscribe(subscriber);
+
+        SplittableRandom random = new SplittableRandom(42);
+        Runtime runtime = Runtime.getRuntime();
+        long peakHeap = 0;
+        long start = System.nanoTime();
+        try (SubmissionPublisher<ALUFlowProcessor.Request> source = new SubmissionPublisher<>()) {
+            source.subscribe(processor);
+            for (int i = 0; i < count; i++) {
+                ALUOperation op = OPERATIONS[random.nextInt(OPERATIONS.length)];
+                // Small divisors and shift amounts so that some requests fail
+                source.submit(new ALUFlowProcessor.Request(op, random.nextInt(), random.nextInt(40) - 4));
+                if ((i & 0xFFFF) == 0) {
+                    peakHeap = Math.max(peakHeap, runtime.totalMemory() - runtime.freeMemory());
+                }
+            }
+        }
+        try {
+            subscriber.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d requests in %.2f s (%.2f M/s), %d results, %d error results, peak heap %d MB%n",
+            count, seconds, count / seconds / 1e6, subscriber.results, subscriber.errors, peakHeap >> 20);
+        if (subscriber.failure != null) {
+            System.out.println("Stream failed: " + subscriber.failure);
+        }
+    }
+
+    // Buffer of 4 and a slow subscriber, so the upstream thread is blocked in submit()
+    // when the subscriber cancels
+    private static boolean cancelInsideOnNext() {
+        ALUFlowProcessor processor = new ALUFlowProcessor(new ALULogic(), ForkJoinPool.commonPool(),
+            ALUFlowProcessor.DEFAULT_BATCH_SIZE, 4, ALUFlowProcessor.DEFAULT_LINGER_MILLIS);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        processor.subscribe(new Flow.Subscriber<ALUFlowProcessor.Result>() {
+            private Flow.Subscription subscription;
+            private int received;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(ALUFlowProcessor.Result item) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (++received == 3) {
+                    subscription.cancel();
+                    cancelled.countDown();
+                } else {
+                    subscription.request(1);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        Thread producer = new Thread(() -> {
+            try (SubmissionPublisher<ALUFlowProcessor.Request> source = new SubmissionPublisher<>()) {
+                source.subscribe(processor);
+                for (int i = 0; i < 2000 && !processor.isClosed(); i++) {
+                    source.submit(new ALUFlowProcessor.Request(ALUOperation.ADD, i, 1));
+                }
+            }
+        }, "ALUFlowBenchmark-producer");
+        producer.setDaemon(true);
+        producer.start();
+        try {
+            boolean cancelledInTime = cancelled.await(10, TimeUnit.SECONDS);
+            producer.join(10_000);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!processor.isClosed() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            return cancelledInTime && !producer.isAlive() && processor.isClosed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class CountingSubscriber implements Flow.Subscriber<ALUFlowProcessor.Result> {
+        private static final int REQUEST_SIZE = 1024;
+        final CountDownLatch done = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private int outstanding;
+        volatile long results;
+        volatile long errors;
+        volatile Throwable failure;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            outstanding = REQUEST_SIZE;
+            subscription.request(REQUEST_SIZE);
+        }
+
+        @Override
+        public void onNext(ALUFlowProcessor.Result item) {
+            results++;
+            if (item.isError()) {
+                errors++;
+            }
+            if (--outstanding == REQUEST_SIZE / 2) {
+                outstanding += REQUEST_SIZE / 2;
+                subscription.request(REQUEST_SIZE / 2);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failure = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,416 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Reactive adapter: subscribes to a stream of Requests and publishes one Result per request,
+// in order. Failing operations (overflow, division by zero, bad shift amount or address)
+// are published as error Results, not as stream errors.
+//
+// Memory stays bounded at both ends:
+//  - upstream demand never exceeds one micro-batch; more is requested only after a batch
+//    has been evaluated and handed downstream
+//  - downstream buffering is SubmissionPublisher's, capped at maxBufferCapacity per
+//    subscriber; when that is full, publishing blocks and upstream demand stops
+//
+// Requests are evaluated in micro-batches through ALULogic.evaluateBatch. A batch runs
+// when it is full, when the upstream completes, or lingerMillis after its first request
+// arrived, so a trickle of requests is not held back waiting for a full batch. Linger
+// flushes run on a timer thread owned by this processor, and publishing happens outside
+// the processor's monitor, so a stalled downstream holds up only its own processor.
+// Closing is done only by a thread holding publishLock, never while another thread is
+// blocked in submit(): SubmissionPublisher holds its own lock during a blocking submit,
+// so a close() from the cancelling subscriber's thread would deadlock with it.
+//
+// Nothing is requested from upstream until the first downstream subscriber arrives, so
+// no result is evaluated only to be dropped. When every downstream subscriber has
+// cancelled, the upstream subscription is cancelled too and the processor closes.
+public class ALUFlowProcessor extends SubmissionPublisher<ALUFlowProcessor.Result>
+        implements Flow.Processor<ALUFlowProcessor.Request, ALUFlowProcessor.Result> {
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final long DEFAULT_LINGER_MILLIS = 5;
+
+    public static final class Request {
+        private final ALUOperation operation;
+        private final int a;
+        private final int b;
+
+        public Request(ALUOperation operation, int a, int b) {
+            if (operation == null) {
+                throw new IllegalArgumentException("Operation must not be null");
+            }
+            this.operation = operation;
+            this.a = a;
+            this.b = b;
+        }
+
+        public ALUOperation getOperation() {
+            return operation;
+        }
+
+        public int getA() {
+            return a;
+        }
+
+        public int getB() {
+            return b;
+        }
+    }
+
+    public static final class Result {
+        private final Request request;
+        private final int value;
+        private final RuntimeException error;
+
+        Result(Request request, int value, RuntimeException error) {
+            this.request = request;
+            this.value = value;
+            this.error = error;
+        }
+
+        public Request getRequest() {
+            return request;
+        }
+
+        public boolean isError() {
+            return error != null;
+        }
+
+        // Undefined if isError()
+        public int getValue() {
+            return value;
+        }
+
+        public RuntimeException getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            String prefix = request.getOperation().getKey() + " " + request.getA()
+                + (request.getOperation().isUnary() ? "" : " " + request.getB());
+            return prefix + (isError() ? " -> error: " + error.getMessage() : " = " + value);
+        }
+    }
+
+    private final ALULogic alu;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final ALUOperation[] batchOperations;
+    private final int[] batchA;
+    private final int[] batchB;
+    private final int[] batchResults;
+    private final RuntimeException[] batchErrors;
+    private final Request[] batchRequests;
+    // Evaluated batches in upstream order, waiting to be published by drain()
+    private final ConcurrentLinkedQueue<Result[]> evaluated = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private volatile boolean closeRequested;
+    private volatile Throwable closeCause; // Null for a normal close
+    // Guarded by this
+    private int pending;
+    private long batchGeneration; // Lets a linger flush tell whether its batch already ran
+    private Flow.Subscription upstream;
+    private boolean upstreamRequested;
+    private int downstreamCount;
+    private boolean finished;
+    private ScheduledExecutorService lingerTimer; // Created on first linger
+
+    public ALUFlowProcessor() {
+        this(new ALULogic(), ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE, Flow.defaultBufferSize(),
+            DEFAULT_LINGER_MILLIS);
+    }
+
+    // The ALU is used from the upstream and linger threads, so it must not be shared
+    // with other callers (in particular not with the GUI)
+    public ALUFlowProcessor(ALULogic alu, Executor executor, int batchSize, int maxBufferCapacity,
+                            long lingerMillis) {
+        super(executor, maxBufferCapacity);
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (lingerMillis < 0) {
+            throw new IllegalArgumentException("Linger time must not be negative");
+        }
+        this.alu = alu;
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+        this.batchOperations = new ALUOperation[batchSize];
+        this.batchA = new int[batchSize];
+        this.batchB = new int[batchSize];
+        this.batchResults = new int[batchSize];
+        this.batchErrors = new RuntimeException[batchSize];
+        this.batchRequests = new Request[batchSize];
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Result> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException();
+        }
+        // Registered synchronously, so results published from now on reach it
+        super.subscribe(new Downstream(subscriber));
+        Flow.Subscription start = null;
+        synchronized (this) {
+            downstreamCount++;
+            if (!upstreamRequested && upstream != null && !finished) {
+                upstreamRequested = true;
+                start = upstream;
+            }
+        }
+        if (start != null) {
+            start.request(batchSize);
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (this) {
+            if (upstream != null || finished) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            if (downstreamCount == 0) {
+                return; // subscribe() requests once a downstream subscriber arrives
+            }
+            upstreamRequested = true;
+        }
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(Request request) {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            if (pending == batchSize) {
+                // Only possible if the upstream ignores demand
+                upstream.cancel();
+                finish();
+                requestClose(new IllegalStateException("Upstream published more requests than were requested"));
+                return;
+            }
+            batchRequests[pending] = request;
+            batchOperations[pending] = request.getOperation();
+            batchA[pending] = request.getA();
+            batchB[pending] = request.getB();
+            pending++;
+            if (pending == batchSize || lingerMillis == 0) {
+                evaluatePending();
+            } else if (pending == 1) {
+                long generation = batchGeneration;
+                lingerTimer().schedule(() -> lingerFlush(generation), lingerMillis, TimeUnit.MILLISECONDS);
+                return;
+            } else {
+                return;
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            evaluatePending();
+            finish();
+        }
+        drain();
+        requestClose(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            evaluatePending();
+            finish();
+        }
+        drain();
+        requestClose(null);
+    }
+
+    private void lingerFlush(long generation) {
+        synchronized (this) {
+            if (finished || generation != batchGeneration) {
+                return;
+            }
+            evaluatePending();
+        }
+        drain();
+    }
+
+    // Evaluates the pending requests and queues their results for drain(). Caller holds
+    // the monitor, so batches are queued in the order their requests arrived.
+    private void evaluatePending() {
+        int count = pending;
+        batchGeneration++;
+        if (count == 0) {
+            return;
+        }
+        alu.evaluateBatch(batchOperations, batchA, batchB, batchResults, batchErrors, count);
+        Result[] results = new Result[count];
+        for (int i = 0; i < count; i++) {
+            results[i] = new Result(batchRequests[i], batchResults[i], batchErrors[i]);
+            batchRequests[i] = null;
+            batchErrors[i] = null;
+        }
+        pending = 0;
+        evaluated.add(results);
+    }
+
+    // Hands queued results downstream, blocking while the downstream buffers are full,
+    // and then asks upstream for as many new requests. Called without the monitor, so a
+    // blocked submit never stops requests from being accepted or lingers from firing.
+    private void drain() {
+        publishLock.lock();
+        try {
+            Result[] results;
+            while ((results = evaluated.poll()) != null) {
+                for (Result result : results) {
+                    if (closeRequested && closeCause == null && downstreamGone()) {
+                        evaluated.clear(); // Every downstream subscriber cancelled
+                        break;
+                    }
+                    submit(result);
+                }
+                Flow.Subscription more;
+                synchronized (this) {
+                    more = finished ? null : upstream;
+                }
+                if (more != null) {
+                    more.request(results.length);
+                }
+            }
+        } finally {
+            publishLock.unlock();
+        }
+        closeIfRequested();
+    }
+
+    private synchronized boolean downstreamGone() {
+        return downstreamCount == 0;
+    }
+
+    // Closes now if no thread is publishing; otherwise that thread closes when its drain()
+    // ends, since it checks closeRequested after releasing publishLock
+    private void requestClose(Throwable cause) {
+        closeCause = cause;
+        closeRequested = true;
+        closeIfRequested();
+    }
+
+    private void closeIfRequested() {
+        while (closeRequested && !isClosed() && publishLock.tryLock()) {
+            try {
+                if (closeCause == null) {
+                    close();
+                } else {
+                    closeExceptionally(closeCause);
+                }
+            } finally {
+                publishLock.unlock();
+            }
+        }
+    }
+
+    private void downstreamCancelled() {
+        Flow.Subscription cancelled;
+        synchronized (this) {
+            if (--downstreamCount > 0 || finished) {
+                return;
+            }
+            cancelled = upstream;
+            for (int i = 0; i < pending; i++) {
+                batchRequests[i] = null;
+            }
+            pending = 0;
+            batchGeneration++;
+            finish();
+        }
+        if (cancelled != null) {
+            cancelled.cancel();
+        }
+        // Usually called from the subscriber's own onNext, possibly while the upstream
+        // thread is blocked publishing to it, so the close may be left to that thread
+        requestClose(null);
+    }
+
+    // Caller holds the monitor
+    private void finish() {
+        finished = true;
+        if (lingerTimer != null) {
+            lingerTimer.shutdownNow();
+        }
+    }
+
+    // Caller holds the monitor
+    private ScheduledExecutorService lingerTimer() {
+        if (lingerTimer == null) {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "ALUFlowProcessor-linger");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            lingerTimer = timer;
+        }
+        return lingerTimer;
+    }
+
+    // Forwards to the real subscriber and reports its cancellation to the processor
+    private final class Downstream implements Flow.Subscriber<Result> {
+        private final Flow.Subscriber<? super Result> subscriber;
+
+        Downstream(Flow.Subscriber<? super Result> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            AtomicBoolean cancelled = new AtomicBoolean();
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    subscription.cancel();
+                    if (cancelled.compareAndSet(false, true)) {
+                        downstreamCancelled();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void onNext(Result item) {
+            subscriber.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            subscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            subscriber.onComplete();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.awt.event.*;
 import javax.swing.border.*;
 import javax.swing.Timer;
 import java.beans.PropertyChangeListener;
+import java.math.BigInteger;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.function.BiFunction;
@@ -16,15 +17,26 @@ public class ALUInterface extends JFrame {
     private JTextField input1Field, input2Field, resultField;
     private JLabel binaryInput1Label, binaryInput2Label, binaryResultLabel;
     private JComboBox<OperationItem> operationCombo;
+    private JComboBox<String> roundingSelector;
     private JButton calculateButton;
+    private JButton microStepsButton;
+    private JPanel mainPanel;
     private JPanel historyPanel;
     private JList<String> historyList;
     private DefaultListModel<String> historyModel;
+    private JTextField historyFilterField;
     private JComboBox<String> baseSelector;
+    private JComboBox<String> widthSelector;
+    private WideALU wideAlu; // Null while the 32-bit ALULogic path is selected
     private JButton copyButton;
     private Map<String, BiFunction<Integer, Integer, Integer>> binaryOperations;
     private Map<String, Function<Integer, Integer>> unaryOperations;
+    private Map<String, BiFunction<Integer, Integer, Integer>> floatOperations;
     private Timer animationTimer;
+    private boolean deferredSetupDone;
+    private final EdtMonitor edtMonitor; // Disabled unless -Dalu.edtMonitor is set
+    private LivePreview livePreview; // Created with the preview panel after the first paint
+    private Map<ALUOperation, JLabel> previewLabels;
     private static final Color VALID_INPUT_BACKGROUND = new Color(200, 255, 200);
     private static final Color INVALID_INPUT_BACKGROUND = new Color(255, 200, 200);
     private static final int DEFAULT_PADDING = 8;
@@ -33,6 +45,8 @@ public class ALUInterface extends JFrame {
     private static final Font BINARY_LABEL_FONT = new Font("Consolas", Font.PLAIN, 14);
     private static final String DEFAULT_BINARY_STRING = "0000 0000";
     private static final int RESULT_ANIMATION_DURATION = 400;
+    private static final int HISTORY_QUERY_LIMIT = 200;
+    private static final int WIDE_BINARY_GROUPS_PER_LINE = 8;
 
     // Static inner class for JComboBox items
     private static class OperationItem {
@@ -55,29 +69,72 @@ public class ALUInterface extends JFrame {
     }
 
     public ALUInterface() {
+        edtMonitor = EdtMonitor.fromSystemProperty();
         alu = new ALULogic();
         setupOperations();
         setupGUI();
         setupModelListeners();
+
+        // History, accessibility and shortcuts are not needed for the first paint,
+        // so build them once the window is on screen
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                SwingUtilities.invokeLater(() -> setupDeferredComponents());
+            }
+        });
+    }
+
+    private void setupDeferredComponents() {
+        if (deferredSetupDone) return;
+        deferredSetupDone = true;
+        setupPreviewPanel(mainPanel);
+        ensureHistoryPanel();
+        setupAccessibility();
         setupKeyboardShortcuts();
     }
 
+    private void ensureHistoryPanel() {
+        if (historyPanel != null) return;
+        setupHistoryPanel(mainPanel);
+        updateHistoryDisplay(alu.getHistory());
+        mainPanel.revalidate();
+        mainPanel.repaint();
+    }
+
     private void setupModelListeners() {
         alu.addPropertyChangeListener((evt) -> {
             if (evt.getPropertyName().equals("binaryResult")) {
-                SwingUtilities.invokeLater(() -> {
+                SwingUtilities.invokeLater(edtMonitor.queued(() -> {
                     binaryResultLabel.setText((String)evt.getNewValue());
                     animateResultField();
-                });
+                }));
             } else if (evt.getPropertyName().equals("historyUpdate")) {
-                SwingUtilities.invokeLater(() -> {
+                SwingUtilities.invokeLater(edtMonitor.queued(() -> {
                     updateHistoryDisplay((String[])evt.getNewValue());
-                });
+                }));
             }
         });
     }
 
     private void updateHistoryDisplay(String[] history) {
+        edtMonitor.enter(EdtMonitor.Phase.HISTORY);
+        try {
+            rebuildHistoryDisplay(history);
+        } finally {
+            edtMonitor.exit();
+        }
+    }
+
+    private void rebuildHistoryDisplay(String[] history) {
+        if (historyPanel == null) {
+            ensureHistoryPanel(); // Fills the model from the ALU history itself
+            return;
+        }
+        if (!historyFilterField.getText().trim().isEmpty()) {
+            applyHistoryFilter();
+            return;
+        }
         historyModel.clear();
         for (String entry : history) {
             if (entry != null) {
@@ -93,7 +150,7 @@ public class ALUInterface extends JFrame {
         getRootPane().setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         
         // Main content
-        JPanel mainPanel = new JPanel();
+        mainPanel = new JPanel();
         mainPanel.setLayout(new BoxLayout(mainPanel, BoxLayout.Y_AXIS));
         mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         mainPanel.setBackground(ModernUIUtils.DEFAULT_PANEL_BACKGROUND);
@@ -107,17 +164,16 @@ public class ALUInterface extends JFrame {
         // Result section
         setupResultSection(mainPanel);
 
-        // History panel
-        setupHistoryPanel(mainPanel);
-
         // Add scroll support
         JScrollPane scrollPane = new JScrollPane(mainPanel);
         scrollPane.setBorder(null);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
         add(scrollPane, BorderLayout.CENTER);
 
-        // Accessibility improvements
-        setupAccessibility();
+        JLabel monitorOverlay = edtMonitor.createOverlay();
+        if (monitorOverlay != null) {
+            add(monitorOverlay, BorderLayout.SOUTH);
+        }
 
         pack();
         setLocationRelativeTo(null);
@@ -134,9 +190,32 @@ public class ALUInterface extends JFrame {
         // Number base selector
         baseSelector = new JComboBox<>(new String[]{"Decimal", "Binary", "Hexadecimal"});
         baseSelector.setToolTipText("Select input number base");
-        gbc.gridx = 0; gbc.gridy = 0; gbc.gridwidth = 2;
+        baseSelector.addActionListener(e -> requestPreview());
+        gbc.gridx = 0; gbc.gridy = 0;
         inputPanel.add(baseSelector, gbc);
-        gbc.gridwidth = 1;
+
+        // Datapath width: up to 32 bits uses ALULogic (8/16-bit via lookup tables), wider widths use WideALU
+        String[] widths = new String[WideALU.SUPPORTED_WIDTHS.length + 3];
+        widths[0] = "8-bit";
+        widths[1] = "16-bit";
+        widths[2] = "32-bit";
+        for (int i = 0; i < WideALU.SUPPORTED_WIDTHS.length; i++) {
+            widths[i + 3] = WideALU.SUPPORTED_WIDTHS[i] + "-bit";
+        }
+        widthSelector = new JComboBox<>(widths);
+        widthSelector.setSelectedIndex(2);
+        widthSelector.setToolTipText("Select datapath width");
+        widthSelector.addActionListener(e -> {
+            int width = selectedWidth();
+            wideAlu = width > 32 ? new WideALU(width) : null;
+            alu.setWordWidth(Math.min(width, 32));
+            prepareLookupTables(width);
+            validateInputField(input1Field);
+            validateInputField(input2Field);
+            requestPreview();
+        });
+        gbc.gridx = 1;
+        inputPanel.add(widthSelector, gbc);
         
         // Input 1
         input1Field = ModernUIUtils.createModernTextField();
@@ -178,19 +257,53 @@ public class ALUInterface extends JFrame {
             new OperationItem("RIGHT SHIFT (Alt+H)", "RIGHT"),   // Key "RIGHT" for "RIGHT SHIFT"
             new OperationItem("AND", "AND"),
             new OperationItem("OR", "OR"),
-            new OperationItem("NOT", "NOT")
+            new OperationItem("NOT", "NOT"),
+            new OperationItem("FLOAT ADD", "FADD"),
+            new OperationItem("FLOAT SUBTRACT", "FSUB"),
+            new OperationItem("FLOAT MULTIPLY", "FMUL"),
+            new OperationItem("FLOAT DIVIDE", "FDIV"),
+            new OperationItem("FLOAT COMPARE", "FCMP"),
+            new OperationItem("LOAD WORD", "LOAD"),
+            new OperationItem("STORE WORD", "STORE")
         };
         operationCombo = ModernUIUtils.createModernComboBox(operationItems);
         operationCombo.setToolTipText("Select operation to perform");
         gbc.gridx = 0; gbc.gridy = 0;
         operationPanel.add(operationCombo, gbc);
 
+        // Rounding mode for the floating-point operations, indexed by SoftFloat.ROUND_* constant
+        roundingSelector = ModernUIUtils.createModernComboBox(new String[]{
+            "Round to nearest, ties to even",
+            "Round toward zero",
+            "Round toward +infinity",
+            "Round toward -infinity",
+            "Round to nearest, ties away"
+        });
+        roundingSelector.setToolTipText("Rounding mode for floating-point operations");
+        roundingSelector.setEnabled(false);
+        roundingSelector.addActionListener(e -> {
+            alu.setRoundingMode(roundingSelector.getSelectedIndex());
+            requestPreview();
+        });
+        operationCombo.addActionListener(e -> roundingSelector.setEnabled(isFloatOperationSelected()));
+        gbc.gridy = 1;
+        operationPanel.add(roundingSelector, gbc);
+
         // Calculate button with hover effect
         calculateButton = ModernUIUtils.createModernButton("Calculate");
         calculateButton.addActionListener(e -> performOperation());
-        gbc.gridy = 1;
+        gbc.gridy = 2;
         operationPanel.add(calculateButton, gbc);
 
+        // Cycle-by-cycle trace of the hardware multiply and divide algorithms
+        microStepsButton = ModernUIUtils.createModernButton("Show Micro-Steps");
+        microStepsButton.setToolTipText("Step through shift-add/Booth multiplication or restoring/non-restoring division");
+        microStepsButton.setEnabled(isMicroStepOperationSelected());
+        microStepsButton.addActionListener(e -> showMicroSteps());
+        operationCombo.addActionListener(e -> microStepsButton.setEnabled(isMicroStepOperationSelected()));
+        gbc.gridy = 3;
+        operationPanel.add(microStepsButton, gbc);
+
         mainPanel.add(operationPanel);
         mainPanel.add(Box.createRigidArea(new Dimension(0, COMPONENT_SPACING)));
     }
@@ -226,6 +339,52 @@ public class ALUInterface extends JFrame {
         mainPanel.add(resultPanel);
     }
 
+    // Results of every operation for the current inputs, recomputed in the background as the user types
+    private void setupPreviewPanel(JPanel mainPanel) {
+        JPanel previewPanel = ModernUIUtils.createRoundedPanel();
+        previewPanel.setLayout(new GridBagLayout());
+        previewPanel.setBorder(BorderFactory.createTitledBorder("Live Preview"));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(2, DEFAULT_PADDING, 2, DEFAULT_PADDING);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        previewLabels = new java.util.EnumMap<>(ALUOperation.class);
+        int row = 0;
+        for (ALUOperation op : LivePreview.previewOperations()) {
+            JLabel value = new JLabel(" ");
+            value.setFont(HISTORY_FONT);
+            previewLabels.put(op, value);
+            gbc.gridy = row++;
+            gbc.gridx = 0;
+            gbc.weightx = 0;
+            previewPanel.add(new JLabel(op.getKey()), gbc);
+            gbc.gridx = 1;
+            gbc.weightx = 1;
+            previewPanel.add(value, gbc);
+        }
+        mainPanel.add(previewPanel);
+
+        livePreview = new LivePreview(values -> {
+            for (Map.Entry<ALUOperation, String> entry : values.entrySet()) {
+                JLabel label = previewLabels.get(entry.getKey());
+                label.setText(entry.getValue().isEmpty() ? " " : entry.getValue());
+            }
+        });
+        requestPreview();
+    }
+
+    private void requestPreview() {
+        if (livePreview == null) {
+            return;
+        }
+        livePreview.request(new LivePreview.Inputs(input1Field.getText(), input2Field.getText(),
+            (String) baseSelector.getSelectedItem(), selectedWidth(), roundingSelector.getSelectedIndex()));
+    }
+
+    private int selectedWidth() {
+        return Integer.parseInt(((String) widthSelector.getSelectedItem()).replace("-bit", ""));
+    }
+
     private void setupHistoryPanel(JPanel mainPanel) {
         historyPanel = ModernUIUtils.createRoundedPanel();
         historyPanel.setLayout(new BorderLayout());
@@ -237,11 +396,40 @@ public class ALUInterface extends JFrame {
         
         JScrollPane historyScroll = new JScrollPane(historyList);
         historyScroll.setPreferredSize(new Dimension(0, 150));
-        
+
+        // Queries the indexed history, e.g. "DIVIDE result=0" or "a=0x7FFFFFFF"
+        historyFilterField = ModernUIUtils.createModernTextField();
+        historyFilterField.setToolTipText("Filter history: operation keys and a=, b=, result= terms (Enter to apply)");
+        historyFilterField.addActionListener(e -> applyHistoryFilter());
+
+        historyPanel.add(historyFilterField, BorderLayout.NORTH);
         historyPanel.add(historyScroll, BorderLayout.CENTER);
         mainPanel.add(historyPanel);
     }
 
+    private void applyHistoryFilter() {
+        String filter = historyFilterField.getText().trim();
+        if (filter.isEmpty()) {
+            updateHistoryDisplay(alu.getHistory());
+            return;
+        }
+        int[] rows;
+        try {
+            rows = alu.getHistoryIndex().parseQuery(filter).limit(HISTORY_QUERY_LIMIT).rows();
+        } catch (IllegalArgumentException e) {
+            historyFilterField.setBackground(INVALID_INPUT_BACKGROUND);
+            historyFilterField.setToolTipText(e.getMessage());
+            return;
+        }
+        historyFilterField.setBackground(Color.WHITE);
+        historyFilterField.setToolTipText("Showing up to " + HISTORY_QUERY_LIMIT + " newest matches");
+        String base = (String) baseSelector.getSelectedItem();
+        historyModel.clear();
+        for (int row : rows) {
+            historyModel.addElement(alu.formatHistoryRecord(row, base));
+        }
+    }
+
     private void setupAccessibility() {
         // Set keyboard mnemonics
         calculateButton.setMnemonic(KeyEvent.VK_C);
@@ -254,6 +442,12 @@ public class ALUInterface extends JFrame {
         // Add input validation feedback
         addInputValidationFeedback(input1Field);
         addInputValidationFeedback(input2Field);
+
+        // Integer and floating-point operations accept different inputs
+        operationCombo.addActionListener(e -> {
+            validateInputField(input1Field);
+            validateInputField(input2Field);
+        });
     }
 
     private void setupKeyboardShortcuts() {
@@ -336,17 +530,8 @@ public class ALUInterface extends JFrame {
     private void addInputValidationFeedback(JTextField field) {
         field.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
             private void validate() {
-                if (field.getText().isEmpty()) {
-                    field.setBackground(Color.WHITE);
-                    field.setToolTipText("Enter a number");
-                } else if (!alu.isValidInput(field.getText(), (String) baseSelector.getSelectedItem())) {
-                    field.setBackground(INVALID_INPUT_BACKGROUND);
-                    field.setToolTipText("Please enter a valid integer for the selected base");
-                } else {
-                    field.setBackground(VALID_INPUT_BACKGROUND);
-                    field.setToolTipText("Valid input");
-                    updateBinaryLabel(field);
-                }
+                validateInputField(field);
+                requestPreview();
             }
 
             @Override
@@ -358,20 +543,70 @@ public class ALUInterface extends JFrame {
         });
     }
 
+    private void validateInputField(JTextField field) {
+        String base = (String) baseSelector.getSelectedItem();
+        boolean isFloat = isFloatOperationSelected();
+        if (field.getText().isEmpty()) {
+            field.setBackground(Color.WHITE);
+            field.setToolTipText("Enter a number");
+        } else if (!isValidOperand(field.getText(), base)) {
+            field.setBackground(INVALID_INPUT_BACKGROUND);
+            field.setToolTipText(isFloat
+                ? "Please enter a float (Decimal) or its bit pattern (Binary/Hexadecimal)"
+                : "Please enter a valid integer for the selected base");
+        } else {
+            field.setBackground(VALID_INPUT_BACKGROUND);
+            field.setToolTipText("Valid input");
+            updateBinaryLabel(field);
+        }
+    }
+
+    // Input check for the selected operation and width, timed as the EDT monitor's validation phase
+    private boolean isValidOperand(String text, String base) {
+        edtMonitor.enter(EdtMonitor.Phase.VALIDATION);
+        try {
+            if (isFloatOperationSelected()) {
+                return alu.isValidFloatInput(text, base);
+            }
+            return wideAlu != null ? wideAlu.isValidInput(text, base) : alu.isValidInput(text, base);
+        } finally {
+            edtMonitor.exit();
+        }
+    }
+
+    private boolean isFloatOperationSelected() {
+        OperationItem selectedItem = (OperationItem) operationCombo.getSelectedItem();
+        return selectedItem != null && floatOperations.containsKey(selectedItem.getKey());
+    }
+
     private void updateBinaryLabel(JTextField field) {
         String inputText = field.getText();
         if (inputText.isEmpty()) { // Handle empty case directly if necessary
             setBinaryLabelText(field, DEFAULT_BINARY_STRING);
             return;
         }
+        if (isFloatOperationSelected()) {
+            try {
+                int bits = alu.parseFloatInput(inputText, (String) baseSelector.getSelectedItem());
+                setBinaryLabelText(field, SoftFloat.toFieldString32(bits));
+            } catch (NumberFormatException ex) {
+                setBinaryLabelText(field, "Invalid Input");
+            }
+            return;
+        }
+        if (wideAlu != null) {
+            try {
+                int[] value = wideAlu.parse(inputText, (String) baseSelector.getSelectedItem());
+                setBinaryLabelText(field, formatWideBinary(value));
+            } catch (NumberFormatException ex) {
+                setBinaryLabelText(field, "Invalid Input");
+            }
+            return;
+        }
         try {
             // Use parseInputNumber to respect the selected base
             int value = parseInputNumber(inputText); // parseInputNumber already uses baseSelector
-            String binary = String.format("%32s", Integer.toBinaryString(value))
-                               .replace(' ', '0')
-                               .replaceAll("(.{8})", "$1 ")
-                               .trim();
-            setBinaryLabelText(field, binary);
+            setBinaryLabelText(field, alu.formatBinaryWord(value));
         } catch (NumberFormatException ex) {
             // If parseInputNumber fails, the input is invalid for the current base
             setBinaryLabelText(field, "Invalid Input");
@@ -398,18 +633,78 @@ public class ALUInterface extends JFrame {
         binaryOperations.put("RIGHT", (n1, n2) -> alu.rightShift(n1, n2));
         binaryOperations.put("AND", (n1, n2) -> alu.and(n1, n2));
         binaryOperations.put("OR", (n1, n2) -> alu.or(n1, n2));
+        binaryOperations.put("STORE", (n1, n2) -> alu.store(n1, n2));
 
         unaryOperations = new HashMap<>();
         unaryOperations.put("NOT", (n1) -> alu.not(n1));
+        unaryOperations.put("LOAD", (n1) -> alu.load(n1));
+
+        // Operands and results are IEEE-754 single precision bit patterns
+        floatOperations = new HashMap<>();
+        floatOperations.put("FADD", (n1, n2) -> alu.floatAdd(n1, n2));
+        floatOperations.put("FSUB", (n1, n2) -> alu.floatSubtract(n1, n2));
+        floatOperations.put("FMUL", (n1, n2) -> alu.floatMultiply(n1, n2));
+        floatOperations.put("FDIV", (n1, n2) -> alu.floatDivide(n1, n2));
+        floatOperations.put("FCMP", (n1, n2) -> alu.floatCompare(n1, n2));
+    }
+
+    // Maps or generates the 8/16-bit tables on a worker thread; generating the 16-bit ones
+    // takes long enough to freeze the window if it happened on the first calculation
+    private void prepareLookupTables(int width) {
+        if ((width != 8 && width != 16) || LookupTableALU.isLoaded(width)) {
+            calculateButton.setEnabled(true);
+            calculateButton.setToolTipText(null);
+            return;
+        }
+        calculateButton.setEnabled(false);
+        calculateButton.setToolTipText("Preparing " + width + "-bit lookup tables...");
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                LookupTableALU.forWidth(width);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                if (LookupTableALU.isLoaded(alu.getWordWidth()) || alu.getWordWidth() == 32) {
+                    calculateButton.setEnabled(true);
+                    calculateButton.setToolTipText(null);
+                }
+            }
+        }.execute();
     }
 
     private void performOperation() {
+        edtMonitor.beginInteraction();
+        edtMonitor.enter(EdtMonitor.Phase.CALCULATION);
+        try {
+            calculate();
+        } finally {
+            edtMonitor.exit();
+        }
+    }
+
+    private void calculate() {
         try {
             String input1Text = input1Field.getText();
             String input2Text = input2Field.getText();
             String base = (String) baseSelector.getSelectedItem();
+
+            if (isFloatOperationSelected()) {
+                performFloatOperation(input1Text, input2Text, base);
+                return;
+            }
+            if (wideAlu != null) {
+                performWideOperation(input1Text, input2Text, base);
+                return;
+            }
+            if (alu.getWordWidth() < 32 && !LookupTableALU.isLoaded(alu.getWordWidth())) {
+                showError("The " + alu.getWordWidth() + "-bit lookup tables are still being prepared");
+                return;
+            }
             
-            if (!alu.isValidInput(input1Text, base)) {
+            if (!isValidOperand(input1Text, base)) {
                 showError("Please enter a valid number for Input 1 for the selected base (" + base + ")");
                 input1Field.requestFocus();
                 return;
@@ -431,7 +726,7 @@ public class ALUInterface extends JFrame {
                 operationOutcome = operation.apply(num1);
                 alu.addToHistory(operationKey, num1, 0, operationOutcome, base);
             } else if (binaryOperations.containsKey(operationKey)) {
-                if (!alu.isValidInput(input2Text, base)) {
+                if (!isValidOperand(input2Text, base)) {
                     showError("Please enter a valid number for Input 2 for the selected base (" + base + ")");
                     input2Field.requestFocus();
                     return;
@@ -456,32 +751,157 @@ public class ALUInterface extends JFrame {
         }
     }
 
+    private boolean isMicroStepOperationSelected() {
+        OperationItem selectedItem = (OperationItem) operationCombo.getSelectedItem();
+        return selectedItem != null
+            && (selectedItem.getKey().equals("MULTIPLY") || selectedItem.getKey().equals("DIVIDE"));
+    }
+
+    private void showMicroSteps() {
+        String input1Text = input1Field.getText();
+        String input2Text = input2Field.getText();
+        String base = (String) baseSelector.getSelectedItem();
+        boolean division = ((OperationItem) operationCombo.getSelectedItem()).getKey().equals("DIVIDE");
+        try {
+            BigInteger a;
+            BigInteger b;
+            int width;
+            if (wideAlu != null) {
+                if (!wideAlu.isValidInput(input1Text, base) || !wideAlu.isValidInput(input2Text, base)) {
+                    showError("Please enter valid " + wideAlu.getWidth() + "-bit numbers for both inputs (" + base + ")");
+                    return;
+                }
+                a = WideALU.toBigInteger(wideAlu.parse(input1Text, base));
+                b = WideALU.toBigInteger(wideAlu.parse(input2Text, base));
+                width = wideAlu.getWidth();
+            } else {
+                if (!alu.isValidInput(input1Text, base) || !alu.isValidInput(input2Text, base)) {
+                    showError("Please enter valid numbers for both inputs (" + base + ")");
+                    return;
+                }
+                width = alu.getWordWidth();
+                // Narrow words accept raw bit patterns (0xFF at 8 bits), so sign-extend them
+                int shift = 32 - width;
+                a = BigInteger.valueOf((parseInputNumber(input1Text) << shift) >> shift);
+                b = BigInteger.valueOf((parseInputNumber(input2Text) << shift) >> shift);
+            }
+            new MicroStepDialog(this, division, a, b, width).setVisible(true);
+        } catch (ArithmeticException e) {
+            showError("Arithmetic error: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            showError(e.getMessage());
+        }
+    }
+
+    private void performFloatOperation(String input1Text, String input2Text, String base) {
+        if (!isValidOperand(input1Text, base)) {
+            showError("Please enter a valid float for Input 1 (" + base + ")");
+            input1Field.requestFocus();
+            return;
+        }
+        if (!isValidOperand(input2Text, base)) {
+            showError("Please enter a valid float for Input 2 (" + base + ")");
+            input2Field.requestFocus();
+            return;
+        }
+        String operationKey = ((OperationItem) operationCombo.getSelectedItem()).getKey();
+        int bits1 = alu.parseFloatInput(input1Text, base);
+        int bits2 = alu.parseFloatInput(input2Text, base);
+        int operationOutcome = floatOperations.get(operationKey).apply(bits1, bits2);
+        alu.addToHistory(operationKey, bits1, bits2, operationOutcome, base);
+        if (operationKey.equals("FCMP")) {
+            displayResult(operationOutcome);
+        } else {
+            displayFloatResult(operationOutcome);
+        }
+    }
+
+    private void performWideOperation(String input1Text, String input2Text, String base) {
+        String widthLabel = wideAlu.getWidth() + "-bit";
+        if (!isValidOperand(input1Text, base)) {
+            showError("Please enter a valid " + widthLabel + " number for Input 1 (" + base + ")");
+            input1Field.requestFocus();
+            return;
+        }
+        ALUOperation operation = ALUOperation.fromKey(((OperationItem) operationCombo.getSelectedItem()).getKey());
+        if (!operation.isUnary() && !isValidOperand(input2Text, base)) {
+            showError("Please enter a valid " + widthLabel + " number for Input 2 (" + base + ")");
+            input2Field.requestFocus();
+            return;
+        }
+        int[] a = wideAlu.parse(input1Text, base);
+        int[] b = operation.isUnary() ? wideAlu.newValue() : wideAlu.parse(input2Text, base);
+        int[] result = wideAlu.newValue();
+        wideAlu.apply(operation, a, b, result);
+
+        String resultText = wideAlu.toString(result, base);
+        alu.addToHistory(operation.isUnary()
+            ? wideAlu.toString(a, base) + " " + operation.getKey() + " = " + resultText
+            : wideAlu.toString(a, base) + " " + operation.getKey() + " " + wideAlu.toString(b, base) + " = " + resultText);
+        resultField.setText(resultText);
+        resultField.setCaretPosition(0);
+        binaryResultLabel.setText(formatWideBinary(result));
+        animateResultField();
+    }
+
+    // Wide binary values wrap onto several label lines of 64 bits each
+    private String formatWideBinary(int[] value) {
+        String[] groups = wideAlu.toBinaryString(value).split(" ");
+        StringBuilder html = new StringBuilder("<html>");
+        for (int i = 0; i < groups.length; i++) {
+            if (i > 0) {
+                html.append(i % WIDE_BINARY_GROUPS_PER_LINE == 0 ? "<br>" : " ");
+            }
+            html.append(groups[i]);
+        }
+        return html.append("</html>").toString();
+    }
+
     private int parseInputNumber(String input) {
+        return alu.parseInput(input, (String) baseSelector.getSelectedItem());
+    }
+
+    // Used by StartupBenchmark: runs one calculation and paints it synchronously
+    String calculateAndPaint(String input1, String input2, String operationKey) {
+        input1Field.setText(input1);
+        input2Field.setText(input2);
+        for (int i = 0; i < operationCombo.getItemCount(); i++) {
+            if (operationCombo.getItemAt(i).getKey().equals(operationKey)) {
+                operationCombo.setSelectedIndex(i);
+                break;
+            }
+        }
+        performOperation();
+        getRootPane().paintImmediately(getRootPane().getBounds());
+        return resultField.getText();
+    }
+
+    private void displayResult(int calcResult) {
         String base = (String) baseSelector.getSelectedItem();
         if (base.equals("Binary")) {
-            return Integer.parseInt(input, 2);
+            resultField.setText(Integer.toBinaryString(alu.toWordPattern(calcResult)));
         } else if (base.equals("Hexadecimal")) {
-            return Integer.parseInt(input, 16);
+            resultField.setText(String.format("0x%X", alu.toWordPattern(calcResult)));
+        } else {
+            resultField.setText(String.valueOf(calcResult));
         }
-        return Integer.parseInt(input);
+        binaryResultLabel.setText(alu.formatBinaryWord(calcResult));
     }
 
-    private void displayResult(int calcResult) {
+    private void displayFloatResult(int bits) {
         String base = (String) baseSelector.getSelectedItem();
         if (base.equals("Binary")) {
-            resultField.setText(Integer.toBinaryString(calcResult));
+            resultField.setText(Integer.toBinaryString(bits));
         } else if (base.equals("Hexadecimal")) {
-            resultField.setText(String.format("0x%X", calcResult));
+            resultField.setText(String.format("0x%08X", bits));
         } else {
-            resultField.setText(String.valueOf(calcResult));
+            resultField.setText(Float.toString(Float.intBitsToFloat(bits)));
         }
-        binaryResultLabel.setText(String.format("%32s", Integer.toBinaryString(calcResult))
-            .replace(' ', '0')
-            .replaceAll("(.{8})", "$1 ")
-            .trim());
+        binaryResultLabel.setText(SoftFloat.toFieldString32(bits));
     }
 
     private void showError(String message) {
+        edtMonitor.cancelInteraction();
         JOptionPane.showMessageDialog(this, message, "Error", 
             JOptionPane.ERROR_MESSAGE);
     }
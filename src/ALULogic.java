@@ -1,33 +1,71 @@
 public class ALULogic {
     private int result;
     private String binaryResult;
-    private java.beans.PropertyChangeSupport changes;
+    private boolean floatResult; // Last result is a single precision bit pattern
+    private int roundingMode = SoftFloat.ROUND_NEAREST_EVEN;
+    private SimulatedMemory memory; // Allocated on first LOAD/STORE unless set explicitly
+    private int wordWidth = 32; // 8 and 16-bit integer operations use LookupTableALU
+    private int flags; // LookupTableALU.FLAG_* bits of the last result
+    private LookupTableALU tables; // Tables of the current narrow width, fetched on first use
+    // Created on first listener registration so headless callers never load java.beans.
+    // Never reset once set, so listeners may register from any thread.
+    private volatile java.beans.PropertyChangeSupport changes;
+    private boolean inBatch; // evaluateBatch fires one event at the end instead of one per item
 
+    private static final long DEFAULT_MEMORY_SIZE = 1L << 32; // Whole 32-bit address space, pages allocated on demand
     private static final int MAX_HISTORY_ENTRIES = 10;
     private String[] recentCalculations = new String[MAX_HISTORY_ENTRIES];
     private int historyIndex = 0;
+    // Every entry ever added, for indexed queries beyond the recent list
+    private final HistoryIndex historyRecords = new HistoryIndex();
 
     public ALULogic() {
-        changes = new java.beans.PropertyChangeSupport(this);
     }
 
     public void addPropertyChangeListener(java.beans.PropertyChangeListener l) {
+        if (changes == null) {
+            synchronized (this) {
+                if (changes == null) {
+                    changes = new java.beans.PropertyChangeSupport(this);
+                }
+            }
+        }
         changes.addPropertyChangeListener(l);
     }
 
     private void updateResult(int newResult) {
+        updateResult(newResult, false);
+    }
+
+    private void updateResult(int newResult, boolean isFloat) {
+        int resultFlags = newResult == 0 ? LookupTableALU.FLAG_ZERO : 0;
+        updateResult(newResult, isFloat, newResult < 0 ? resultFlags | LookupTableALU.FLAG_NEGATIVE : resultFlags);
+    }
+
+    private void updateResult(int newResult, boolean isFloat, int newFlags) {
+        this.flags = newFlags;
         int oldResult = this.result;
         this.result = newResult;
-        this.binaryResult = String.format("%32s", Integer.toBinaryString(newResult))
-                               .replace(' ', '0')
-                               .replaceAll("(.{8})", "$1 ")
-                               .trim();
-        changes.firePropertyChange("result", oldResult, newResult);
-        changes.firePropertyChange("binaryResult", null, binaryResult);
+        this.floatResult = isFloat;
+        this.binaryResult = null; // Formatted on demand, see getBinaryResult()
+        if (!inBatch) {
+            fireResultChange(oldResult);
+        }
+    }
+
+    private void fireResultChange(int oldResult) {
+        java.beans.PropertyChangeSupport listeners = changes;
+        if (listeners != null) {
+            listeners.firePropertyChange("result", oldResult, result);
+            listeners.firePropertyChange("binaryResult", null, getBinaryResult());
+        }
     }
 
     // Arithmetic Operations
     public int add(int a, int b) {
+        if (wordWidth < 32) {
+            return narrow(ALUOperation.ADD, a, b);
+        }
         long result = (long) a + b;
         if (result > Integer.MAX_VALUE || result < Integer.MIN_VALUE) {
             throw new ArithmeticException("Addition overflow");
@@ -37,6 +75,9 @@ public class ALULogic {
     }
 
     public int subtract(int a, int b) {
+        if (wordWidth < 32) {
+            return narrow(ALUOperation.SUBTRACT, a, b);
+        }
         long result = (long) a - b;
         if (result > Integer.MAX_VALUE || result < Integer.MIN_VALUE) {
             throw new ArithmeticException("Subtraction overflow");
@@ -46,6 +87,9 @@ public class ALULogic {
     }
 
     public int multiply(int a, int b) {
+        if (wordWidth < 32) {
+            return narrow(ALUOperation.MULTIPLY, a, b);
+        }
         long result = (long) a * b;
         if (result > Integer.MAX_VALUE || result < Integer.MIN_VALUE) {
             throw new ArithmeticException("Multiplication overflow");
@@ -55,6 +99,9 @@ public class ALULogic {
     }
 
     public int divide(int a, int b) {
+        if (wordWidth < 32) {
+            return narrow(ALUOperation.DIVIDE, a, b);
+        }
         if (b == 0) {
             throw new ArithmeticException("Division by zero");
         }
@@ -67,6 +114,9 @@ public class ALULogic {
     }
 
     public int modulo(int a, int b) {
+        if (wordWidth < 32) {
+            return narrow(ALUOperation.MODULO, a, b);
+        }
         if (b == 0) {
             throw new ArithmeticException("Modulo by zero");
         }
@@ -77,24 +127,36 @@ public class ALULogic {
 
     // Logical Operations
     public int and(int a, int b) {
+        if (wordWidth < 32) {
+            return narrow(ALUOperation.AND, a, b);
+        }
         int result = a & b;
         updateResult(result);
         return result;
     }
 
     public int or(int a, int b) {
+        if (wordWidth < 32) {
+            return narrow(ALUOperation.OR, a, b);
+        }
         int result = a | b;
         updateResult(result);
         return result;
     }
 
     public int not(int a) {
+        if (wordWidth < 32) {
+            return narrow(ALUOperation.NOT, a, 0);
+        }
         int result = ~a;
         updateResult(result);
         return result;
     }
 
     public int leftShift(int a, int b) {
+        if (wordWidth < 32) {
+            return narrow(ALUOperation.LEFT, a, b);
+        }
         if (b < 0 || b >= 32) {
             throw new IllegalArgumentException("Shift amount must be between 0 and 31");
         }
@@ -104,6 +166,9 @@ public class ALULogic {
     }
 
     public int rightShift(int a, int b) {
+        if (wordWidth < 32) {
+            return narrow(ALUOperation.RIGHT, a, b);
+        }
         if (b < 0 || b >= 32) {
             throw new IllegalArgumentException("Shift amount must be between 0 and 31");
         }
@@ -112,10 +177,198 @@ public class ALULogic {
         return result;
     }
 
+    // 8 and 16-bit words are looked up in LookupTableALU. Operands may be signed values or
+    // raw bit patterns of the word; errors and overflow throw as for 32-bit words.
+    private int narrow(ALUOperation operation, int a, int b) {
+        boolean shift = operation == ALUOperation.LEFT || operation == ALUOperation.RIGHT;
+        if (shift && (b < 0 || b >= wordWidth)) {
+            throw new IllegalArgumentException("Shift amount must be between 0 and " + (wordWidth - 1));
+        }
+        if (!fitsWord(a) || (!shift && !operation.isUnary() && !fitsWord(b))) {
+            throw new IllegalArgumentException("Operand out of range for " + wordWidth + "-bit word");
+        }
+        LookupTableALU lut = tables;
+        if (lut == null || lut.getWidth() != wordWidth) {
+            lut = LookupTableALU.forWidth(wordWidth);
+            tables = lut;
+        }
+        int entry = lut.lookup(operation, a, b);
+        int entryFlags = LookupTableALU.flags(entry);
+        if ((entryFlags & LookupTableALU.FLAG_ERROR) != 0) {
+            throw new ArithmeticException(operation == ALUOperation.MODULO ? "Modulo by zero" : "Division by zero");
+        }
+        if ((entryFlags & LookupTableALU.FLAG_OVERFLOW) != 0) {
+            switch (operation) {
+                case ADD: throw new ArithmeticException("Addition overflow");
+                case SUBTRACT: throw new ArithmeticException("Subtraction overflow");
+                case MULTIPLY: throw new ArithmeticException("Multiplication overflow");
+                case DIVIDE: throw new ArithmeticException("Division overflow");
+                default: break;
+            }
+        }
+        int result = LookupTableALU.result(entry, wordWidth);
+        updateResult(result, false, entryFlags);
+        return result;
+    }
+
+    private boolean fitsWord(int value) {
+        return wordWidth == 32 || (value >= -(1 << (wordWidth - 1)) && value < (1 << wordWidth));
+    }
+
+    public void setWordWidth(int wordWidth) {
+        if (wordWidth != 8 && wordWidth != 16 && wordWidth != 32) {
+            throw new IllegalArgumentException("Word width must be 8, 16 or 32 bits");
+        }
+        this.wordWidth = wordWidth;
+    }
+
+    public int getWordWidth() {
+        return wordWidth;
+    }
+
+    // LookupTableALU.FLAG_* bits of the last result. Carry and overflow are only tracked
+    // for 8 and 16-bit words; 32-bit results report zero and negative.
+    public int getFlags() {
+        return flags;
+    }
+
+    // Floating-point Operations (IEEE-754 single precision, operands are raw bit patterns)
+    public int floatAdd(int a, int b) {
+        int result = SoftFloat.add32(a, b, roundingMode);
+        updateResult(result, true);
+        return result;
+    }
+
+    public int floatSubtract(int a, int b) {
+        int result = SoftFloat.subtract32(a, b, roundingMode);
+        updateResult(result, true);
+        return result;
+    }
+
+    public int floatMultiply(int a, int b) {
+        int result = SoftFloat.multiply32(a, b, roundingMode);
+        updateResult(result, true);
+        return result;
+    }
+
+    public int floatDivide(int a, int b) {
+        int result = SoftFloat.divide32(a, b, roundingMode);
+        updateResult(result, true);
+        return result;
+    }
+
+    // Returns SoftFloat.LESS, EQUAL, GREATER or UNORDERED
+    public int floatCompare(int a, int b) {
+        int result = SoftFloat.compare32(a, b);
+        updateResult(result);
+        return result;
+    }
+
+    // Memory Operations: addresses are unsigned 32-bit byte addresses. Accesses are one
+    // word wide, so 8 and 16-bit words load and store a byte or a half-word.
+    public int load(int address) {
+        long byteAddress = address & 0xFFFFFFFFL;
+        int result;
+        switch (wordWidth) {
+            case 8: result = getMemory().loadByte(byteAddress); break;
+            case 16: result = getMemory().loadHalf(byteAddress); break;
+            default: result = getMemory().loadWord(byteAddress); break;
+        }
+        updateResult(result);
+        return result;
+    }
+
+    public int store(int address, int value) {
+        if (!fitsWord(value)) {
+            throw new IllegalArgumentException("Operand out of range for " + wordWidth + "-bit word");
+        }
+        long byteAddress = address & 0xFFFFFFFFL;
+        switch (wordWidth) {
+            case 8: getMemory().storeByte(byteAddress, value); value = (byte) value; break;
+            case 16: getMemory().storeHalf(byteAddress, value); value = (short) value; break;
+            default: getMemory().storeWord(byteAddress, value); break;
+        }
+        updateResult(value);
+        return value;
+    }
+
+    // Batch Evaluation: runs count operations in order, storing each outcome in results or
+    // its ArithmeticException/IllegalArgumentException in errors (null on success). Listeners
+    // see only the last successful result, not one event per item.
+    public void evaluateBatch(ALUOperation[] operations, int[] a, int[] b, int[] results,
+                              RuntimeException[] errors, int count) {
+        int oldResult = result;
+        boolean updated = false;
+        inBatch = true;
+        try {
+            for (int i = 0; i < count; i++) {
+                try {
+                    results[i] = operations[i].evaluate(this, a[i], b[i]);
+                    errors[i] = null;
+                    updated = true;
+                } catch (ArithmeticException | IllegalArgumentException e) {
+                    errors[i] = e;
+                }
+            }
+        } finally {
+            inBatch = false;
+        }
+        // Result and flags are already those of the last successful operation
+        if (updated) {
+            fireResultChange(oldResult);
+        }
+    }
+
+    public SimulatedMemory getMemory() {
+        if (memory == null) {
+            memory = new SimulatedMemory(DEFAULT_MEMORY_SIZE);
+        }
+        return memory;
+    }
+
+    public void setMemory(SimulatedMemory memory) {
+        this.memory = memory;
+    }
+
+    public void setRoundingMode(int roundingMode) {
+        if (roundingMode < SoftFloat.ROUND_NEAREST_EVEN || roundingMode > SoftFloat.ROUND_NEAREST_AWAY) {
+            throw new IllegalArgumentException("Unknown rounding mode: " + roundingMode);
+        }
+        this.roundingMode = roundingMode;
+    }
+
+    public int getRoundingMode() {
+        return roundingMode;
+    }
+
+    public int getResult() {
+        return result;
+    }
+
     public String getBinaryResult() {
+        if (binaryResult == null && floatResult) {
+            binaryResult = SoftFloat.toFieldString32(result);
+        } else if (binaryResult == null) {
+            binaryResult = formatBinaryWord(result);
+        }
         return binaryResult;
     }
 
+    // Bit pattern of value at the current word width. Values that do not fit the word,
+    // e.g. history entries from 32-bit mode, keep all 32 bits.
+    public int toWordPattern(int value) {
+        return wordWidth < 32 && fitsWord(value) ? value & ((1 << wordWidth) - 1) : value;
+    }
+
+    // Zero-padded binary in groups of 8 bits, as wide as the word (see toWordPattern)
+    public String formatBinaryWord(int value) {
+        int digits = wordWidth < 32 && fitsWord(value) ? wordWidth : 32;
+        return String.format("%" + digits + "s", Integer.toBinaryString(toWordPattern(value)))
+                   .replace(' ', '0')
+                   .replaceAll("(.{8})", "$1 ")
+                   .trim();
+    }
+
     // Input validation
     public boolean isValidInput(String input, String base) {
         if (input == null || input.trim().isEmpty()) {
@@ -129,34 +382,95 @@ public class ALULogic {
             } else { // Decimal
                 Integer.parseInt(input);
             }
+            return fitsWord(parseInput(input, base));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // Floating-point operands: decimal input is a float literal, binary/hex input is the bit pattern
+    public boolean isValidFloatInput(String input, String base) {
+        if (input == null || input.trim().isEmpty()) {
+            return false;
+        }
+        try {
+            parseFloatInput(input, base);
             return true;
         } catch (NumberFormatException e) {
             return false;
         }
     }
 
+    public int parseFloatInput(String input, String base) {
+        if ("Binary".equals(base)) {
+            return Integer.parseUnsignedInt(input, 2);
+        } else if ("Hexadecimal".equals(base)) {
+            return Integer.parseUnsignedInt(input, 16);
+        }
+        return Float.floatToRawIntBits(Float.parseFloat(input));
+    }
+
+    public int parseInput(String input, String base) {
+        if ("Binary".equals(base)) {
+            return Integer.parseInt(input, 2);
+        } else if ("Hexadecimal".equals(base)) {
+            return Integer.parseInt(input, 16);
+        }
+        return Integer.parseInt(input);
+    }
+
     // Number base conversion utilities
+    // Zero-padded to the word width (see toWordPattern)
     public String toHexString(int value) {
-        return String.format("0x%08X", value);
+        int digits = wordWidth < 32 && fitsWord(value) ? wordWidth / 4 : 8;
+        return String.format("0x%0" + digits + "X", toWordPattern(value));
     }
 
     public void addToHistory(String operation, int a, int b, int result, String base) {
-        String entry;
-        if (operation.equals("NOT")) {
-            entry = formatHistoryEntry(operation, a, 0, result, base, true);
-        } else {
-            entry = formatHistoryEntry(operation, a, b, result, base, false);
+        String entry = formatEntry(operation, a, b, result, base);
+        ALUOperation op = ALUOperation.forKey(operation);
+        if (op != null) {
+            historyRecords.add(op, a, op.isUnary() ? 0 : b, result);
         }
+        addToHistory(entry);
+    }
+
+    // Adds a preformatted entry to the recent list only, e.g. for wide (WideALU) results
+    public void addToHistory(String entry) {
         recentCalculations[historyIndex] = entry;
         historyIndex = (historyIndex + 1) % MAX_HISTORY_ENTRIES;
-        changes.firePropertyChange("historyUpdate", null, getHistory());
+        if (changes != null) {
+            changes.firePropertyChange("historyUpdate", null, getHistory());
+        }
+    }
+
+    public HistoryIndex getHistoryIndex() {
+        return historyRecords;
+    }
+
+    // Formats an indexed history row the same way as the recent history list
+    public String formatHistoryRecord(int row, String base) {
+        return formatEntry(historyRecords.getOperation(row).getKey(), historyRecords.getOperandA(row),
+            historyRecords.getOperandB(row), historyRecords.getResult(row), base);
+    }
+
+    private String formatEntry(String operation, int a, int b, int result, String base) {
+        ALUOperation op = ALUOperation.forKey(operation);
+        if (op != null && op.hasFloatOperands() && !"Binary".equals(base) && !"Hexadecimal".equals(base)) {
+            return String.format("%s %s %s = %s",
+                Float.intBitsToFloat(a), operation, Float.intBitsToFloat(b),
+                op.hasFloatResult() ? Float.toString(Float.intBitsToFloat(result)) : Integer.toString(result));
+        } else if (op != null ? op.isUnary() : operation.equals("NOT")) {
+            return formatHistoryEntry(operation, a, 0, result, base, true);
+        }
+        return formatHistoryEntry(operation, a, b, result, base, false);
     }
 
     private String formatNumber(int number, String base) {
         if ("Binary".equals(base)) {
-            return Integer.toBinaryString(number);
+            return Integer.toBinaryString(toWordPattern(number));
         } else if ("Hexadecimal".equals(base)) {
-            return String.format("0x%X", number);
+            return String.format("0x%X", toWordPattern(number));
         }
         return Integer.toString(number);
     }
@@ -0,0 +1,96 @@
+public enum ALUOperation {
+    ADD("ADD", false),
+    SUBTRACT("SUBTRACT", false),
+    MULTIPLY("MULTIPLY", false),
+    DIVIDE("DIVIDE", false),
+    MODULO("MODULO", false),
+    LEFT("LEFT", false),   // Left shift, key matches the GUI operation key
+    RIGHT("RIGHT", false), // Right shift, key matches the GUI operation key
+    AND("AND", false),
+    OR("OR", false),
+    NOT("NOT", true),
+    // IEEE-754 single precision: operands are float bit patterns, see SoftFloat
+    FADD("FADD", false, true, true),
+    FSUB("FSUB", false, true, true),
+    FMUL("FMUL", false, true, true),
+    FDIV("FDIV", false, true, true),
+    FCMP("FCMP", false, true, false), // Result is a SoftFloat compare code
+    // Word access to ALULogic's SimulatedMemory: LOAD address, STORE address value
+    LOAD("LOAD", true),
+    STORE("STORE", false);
+
+    private final String key;
+    private final boolean unary;
+    private final boolean floatOperands;
+    private final boolean floatResult;
+
+    ALUOperation(String key, boolean unary) {
+        this(key, unary, false, false);
+    }
+
+    ALUOperation(String key, boolean unary, boolean floatOperands, boolean floatResult) {
+        this.key = key;
+        this.unary = unary;
+        this.floatOperands = floatOperands;
+        this.floatResult = floatResult;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public boolean isUnary() {
+        return unary;
+    }
+
+    public boolean hasFloatOperands() {
+        return floatOperands;
+    }
+
+    public boolean hasFloatResult() {
+        return floatResult;
+    }
+
+    // Runs the operation through the given ALU so results and listeners behave as in the GUI
+    public int evaluate(ALULogic alu, int a, int b) {
+        switch (this) {
+            case ADD: return alu.add(a, b);
+            case SUBTRACT: return alu.subtract(a, b);
+            case MULTIPLY: return alu.multiply(a, b);
+            case DIVIDE: return alu.divide(a, b);
+            case MODULO: return alu.modulo(a, b);
+            case LEFT: return alu.leftShift(a, b);
+            case RIGHT: return alu.rightShift(a, b);
+            case AND: return alu.and(a, b);
+            case OR: return alu.or(a, b);
+            case NOT: return alu.not(a);
+            case FADD: return alu.floatAdd(a, b);
+            case FSUB: return alu.floatSubtract(a, b);
+            case FMUL: return alu.floatMultiply(a, b);
+            case FDIV: return alu.floatDivide(a, b);
+            case FCMP: return alu.floatCompare(a, b);
+            case LOAD: return alu.load(a);
+            case STORE: return alu.store(a, b);
+            default: throw new IllegalStateException("Unhandled operation: " + this);
+        }
+    }
+
+    public static ALUOperation fromKey(String key) {
+        for (ALUOperation op : values()) {
+            if (op.key.equalsIgnoreCase(key)) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+
+    // Like fromKey, but returns null for keys outside the enum
+    public static ALUOperation forKey(String key) {
+        for (ALUOperation op : values()) {
+            if (op.key.equals(key)) {
+                return op;
+            }
+        }
+        return null;
+    }
+}
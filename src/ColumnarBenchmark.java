@@ -0,0 +1,46 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Generates operand files in a temporary directory, processes them with ColumnarFile and
+// reports row and byte throughput per operation and width
+public class ColumnarBenchmark {
+
+    public static void run(long rows) {
+        Path dir;
+        try {
+            dir = Files.createTempDirectory("alu-columnar");
+        } catch (IOException e) {
+            System.out.println("Cannot create work directory: " + e.getMessage());
+            return;
+        }
+        Path input = dir.resolve("operands.aluc");
+        Path output = dir.resolve("results.alur");
+        try {
+            Object[][] cases = {
+                {ALUOperation.ADD, 32}, {ALUOperation.MULTIPLY, 32}, {ALUOperation.DIVIDE, 32},
+                {ALUOperation.FMUL, 32}, {ALUOperation.MULTIPLY, 8}, {ALUOperation.MODULO, 16}
+            };
+            for (Object[] c : cases) {
+                ALUOperation op = (ALUOperation) c[0];
+                int width = (Integer) c[1];
+                // Mixes in zero divisors and overflowing products so every status occurs
+                ColumnarFile.create(input, op, 10, width, rows,
+                    row -> (int) (row * 2654435761L >>> 7),
+                    row -> op.hasFloatOperands() ? Float.floatToIntBits(row % 1000 / 7f) : (int) (row % 1001) - 500);
+                ColumnarFile.Summary summary = ColumnarFile.process(input, output);
+                System.out.printf("%-8s %2d-bit  %s%n", op.getKey(), width, summary);
+            }
+        } catch (IOException e) {
+            System.out.println("Columnar benchmark failed: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(input);
+                Files.deleteIfExists(output);
+                Files.deleteIfExists(dir);
+            } catch (IOException ignored) {
+                // Temporary files only
+            }
+        }
+    }
+}
@@ -0,0 +1,437 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongToIntFunction;
+import java.util.stream.IntStream;
+
+// Columnar binary format for bulk ALU jobs. All values are little-endian.
+//
+//   offset  size  field
+//   0       4     magic: "ALUC" for operand files, "ALUR" for result files
+//   4       4     version (1)
+//   8       8     operation key, ASCII, space padded (e.g. "MULTIPLY")
+//   16      4     display base: 2, 10 or 16
+//   20      4     word width in bits: 8, 16 or 32 (32 for float operations)
+//   24      8     row count
+//   32            columns, each count * width/8 bytes
+//
+// Operand files hold column a followed by column b (omitted for unary operations).
+// Result files hold the result column followed by a status column of one STATUS_* byte
+// per row. Failed rows have a zero result.
+//
+// process() maps both files in chunks of CHUNK_ROWS rows and evaluates the chunks in
+// parallel straight from the input mapping into the output mapping. Each worker maps
+// only its own chunk, so files larger than 2 GB need no special handling.
+//
+// New files are written under a temporary name and moved into place once complete, so
+// an existing file is only replaced by a finished one.
+public final class ColumnarFile {
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_OVERFLOW = 1;
+    public static final byte STATUS_DIVIDE_BY_ZERO = 2;
+    public static final byte STATUS_INVALID_OPERAND = 3; // Shift amount or operand outside the word
+
+    static final int HEADER_BYTES = 32;
+    static final int CHUNK_ROWS = 1 << 22;
+    private static final int OPERAND_MAGIC = 0x43554C41; // "ALUC"
+    private static final int RESULT_MAGIC = 0x52554C41;  // "ALUR"
+    private static final int VERSION = 1;
+    private static final String[] STATUS_NAMES = {"ok", "overflow", "division by zero", "invalid operand"};
+
+    public static final class Header {
+        private final boolean results;
+        private final ALUOperation operation;
+        private final int base;
+        private final int width;
+        private final long count;
+
+        Header(boolean results, ALUOperation operation, int base, int width, long count) {
+            if (operation == ALUOperation.LOAD || operation == ALUOperation.STORE) {
+                throw new IllegalArgumentException(operation.getKey() + " needs memory and cannot be run in bulk");
+            }
+            if (base != 2 && base != 10 && base != 16) {
+                throw new IllegalArgumentException("Base must be 2, 10 or 16");
+            }
+            if (width != 8 && width != 16 && width != 32) {
+                throw new IllegalArgumentException("Width must be 8, 16 or 32 bits");
+            }
+            if (operation.hasFloatOperands() && width != 32) {
+                throw new IllegalArgumentException(operation.getKey() + " needs 32-bit columns");
+            }
+            if (count < 0) {
+                throw new IllegalArgumentException("Row count must not be negative");
+            }
+            this.results = results;
+            this.operation = operation;
+            this.base = base;
+            this.width = width;
+            this.count = count;
+        }
+
+        public boolean isResultFile() {
+            return results;
+        }
+
+        public ALUOperation getOperation() {
+            return operation;
+        }
+
+        public int getBase() {
+            return base;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        long columnBytes() {
+            return count * (width / 8);
+        }
+
+        long fileSize() {
+            if (results) {
+                return HEADER_BYTES + columnBytes() + count;
+            }
+            return HEADER_BYTES + columnBytes() * (operation.isUnary() ? 1 : 2);
+        }
+
+        void write(MappedByteBuffer buffer) {
+            byte[] key = String.format("%-8s", operation.getKey()).getBytes(StandardCharsets.US_ASCII);
+            buffer.putInt(4, VERSION);
+            for (int i = 0; i < 8; i++) {
+                buffer.put(8 + i, key[i]);
+            }
+            buffer.putInt(16, base).putInt(20, width).putLong(24, count);
+            buffer.putInt(0, results ? RESULT_MAGIC : OPERAND_MAGIC);
+        }
+    }
+
+    // Status counts and timing of a process() run
+    public static final class Summary {
+        private final long[] statusCounts;
+        private final long nanos;
+        private final long bytes;
+
+        Summary(long[] statusCounts, long nanos, long bytes) {
+            this.statusCounts = statusCounts;
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+
+        public long getStatusCount(int status) {
+            return statusCounts[status];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            long rows = 0;
+            for (long c : statusCounts) {
+                rows += c;
+            }
+            sb.append(String.format(Locale.ROOT, "%d rows in %.1f ms (%.1f M rows/s, %.2f GB/s)",
+                rows, nanos / 1e6, rows / (nanos / 1e3), bytes / (double) nanos));
+            for (int i = 0; i < statusCounts.length; i++) {
+                if (statusCounts[i] > 0) {
+                    sb.append(", ").append(statusCounts[i]).append(' ').append(STATUS_NAMES[i]);
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    private ColumnarFile() {
+    }
+
+    public static Header readHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IllegalArgumentException("Not an ALU columnar file: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            int magic = buffer.getInt(0);
+            if ((magic != OPERAND_MAGIC && magic != RESULT_MAGIC) || buffer.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("Not an ALU columnar file: " + file);
+            }
+            byte[] key = new byte[8];
+            for (int i = 0; i < 8; i++) {
+                key[i] = buffer.get(8 + i);
+            }
+            Header header = new Header(magic == RESULT_MAGIC,
+                ALUOperation.fromKey(new String(key, StandardCharsets.US_ASCII).trim()),
+                buffer.getInt(16), buffer.getInt(20), buffer.getLong(24));
+            if (channel.size() != header.fileSize()) {
+                throw new IllegalArgumentException("Columnar file is truncated or has trailing data: " + file);
+            }
+            return header;
+        }
+    }
+
+    // Writes an operand file whose row i holds a.applyAsInt(i) and b.applyAsInt(i)
+    public static Header create(Path file, ALUOperation operation, int base, int width, long count,
+                                LongToIntFunction a, LongToIntFunction b) throws IOException {
+        Header header = new Header(false, operation, base, width, count);
+        write(file, header, channel -> {
+            long chunks = (count + CHUNK_ROWS - 1) / CHUNK_ROWS;
+            forEachChunk(chunks, chunk -> {
+                long first = chunk * CHUNK_ROWS;
+                int rows = (int) Math.min(CHUNK_ROWS, count - first);
+                MappedByteBuffer columnA = mapColumn(channel, header, 0, first, rows, FileChannel.MapMode.READ_WRITE);
+                MappedByteBuffer columnB = operation.isUnary() ? null
+                    : mapColumn(channel, header, 1, first, rows, FileChannel.MapMode.READ_WRITE);
+                for (int i = 0; i < rows; i++) {
+                    long row = first + i;
+                    put(columnA, i, width, a.applyAsInt(row));
+                    if (columnB != null) {
+                        put(columnB, i, width, b.applyAsInt(row));
+                    }
+                }
+                columnA.force();
+                if (columnB != null) {
+                    columnB.force();
+                }
+            });
+        });
+        return header;
+    }
+
+    // Evaluates every row of an operand file into a new result file
+    public static Summary process(Path input, Path output) throws IOException {
+        Header in = readHeader(input);
+        if (in.isResultFile()) {
+            throw new IllegalArgumentException("Input is a result file: " + input);
+        }
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IllegalArgumentException("Output would overwrite the input file: " + output);
+        }
+        Header out = new Header(true, in.getOperation(), in.getBase(), in.getWidth(), in.getCount());
+        long start = System.nanoTime();
+        AtomicLongArray statusCounts = new AtomicLongArray(STATUS_NAMES.length);
+        try (FileChannel source = FileChannel.open(input, StandardOpenOption.READ)) {
+            write(output, out, target -> {
+                long chunks = (in.getCount() + CHUNK_ROWS - 1) / CHUNK_ROWS;
+                forEachChunk(chunks, chunk -> {
+                    long first = chunk * CHUNK_ROWS;
+                    int rows = (int) Math.min(CHUNK_ROWS, in.getCount() - first);
+                    long[] counts = processChunk(source, target, in, out, first, rows);
+                    for (int s = 0; s < counts.length; s++) {
+                        statusCounts.addAndGet(s, counts[s]);
+                    }
+                });
+            });
+        }
+        long[] counts = new long[STATUS_NAMES.length];
+        for (int s = 0; s < counts.length; s++) {
+            counts[s] = statusCounts.get(s);
+        }
+        return new Summary(counts, System.nanoTime() - start, in.fileSize() + out.fileSize());
+    }
+
+    // Prints the first rows of an operand or result file in the header's base
+    public static void dump(Path file, int rows) throws IOException {
+        Header header = readHeader(file);
+        System.out.printf("%s file: %s, base %d, %d-bit, %d rows%n", header.isResultFile() ? "Result" : "Operand",
+            header.getOperation().getKey(), header.getBase(), header.getWidth(), header.getCount());
+        int shown = (int) Math.min(rows, header.getCount());
+        if (shown == 0) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer first = mapColumn(channel, header, 0, 0, shown, FileChannel.MapMode.READ_ONLY);
+            MappedByteBuffer second = header.isResultFile()
+                ? mapStatus(channel, header, 0, shown, FileChannel.MapMode.READ_ONLY)
+                : header.getOperation().isUnary() ? null
+                : mapColumn(channel, header, 1, 0, shown, FileChannel.MapMode.READ_ONLY);
+            for (int i = 0; i < shown; i++) {
+                String left = format(get(first, i, header.getWidth()), header);
+                String right = second == null ? ""
+                    : header.isResultFile() ? STATUS_NAMES[second.get(i)]
+                    : format(get(second, i, header.getWidth()), header);
+                System.out.println(i + "\t" + left + "\t" + right);
+            }
+        }
+    }
+
+    // --- Chunk processing ---
+
+    private static long[] processChunk(FileChannel source, FileChannel target, Header in, Header out,
+                                       long first, int rows) throws IOException {
+        int width = in.getWidth();
+        ALUOperation op = in.getOperation();
+        boolean unary = op.isUnary();
+        boolean division = op == ALUOperation.DIVIDE || op == ALUOperation.MODULO;
+        MappedByteBuffer columnA = mapColumn(source, in, 0, first, rows, FileChannel.MapMode.READ_ONLY);
+        MappedByteBuffer columnB = unary ? null : mapColumn(source, in, 1, first, rows, FileChannel.MapMode.READ_ONLY);
+        MappedByteBuffer results = mapColumn(target, out, 0, first, rows, FileChannel.MapMode.READ_WRITE);
+        MappedByteBuffer status = mapStatus(target, out, first, rows, FileChannel.MapMode.READ_WRITE);
+        // Statuses are decided before evaluating, so failing rows never cost an exception.
+        // Narrow words read status and result from the lookup table entry ALULogic would use.
+        boolean narrow = width < 32 && !op.hasFloatOperands();
+        LookupTableALU tables = narrow ? LookupTableALU.forWidth(width) : null;
+        ALULogic alu = new ALULogic();
+        long[] counts = new long[STATUS_NAMES.length];
+        for (int i = 0; i < rows; i++) {
+            int a = get(columnA, i, width);
+            int b = unary ? 0 : get(columnB, i, width);
+            int result = 0;
+            byte code;
+            if (narrow) {
+                int entry = tables.lookup(op, a, b);
+                code = narrowStatus(op, LookupTableALU.flags(entry), division);
+                if (code == STATUS_OK) {
+                    result = LookupTableALU.result(entry, width);
+                }
+            } else {
+                code = status32(op, a, b);
+                if (code == STATUS_OK) {
+                    result = op.evaluate(alu, a, b);
+                }
+            }
+            put(results, i, width, result);
+            status.put(i, code);
+            counts[code]++;
+        }
+        results.force();
+        status.force();
+        return counts;
+    }
+
+    // Mirrors the failures of ALULogic's 32-bit integer operations
+    private static byte status32(ALUOperation op, int a, int b) {
+        switch (op) {
+            case ADD: return (long) a + b == a + b ? STATUS_OK : STATUS_OVERFLOW;
+            case SUBTRACT: return (long) a - b == a - b ? STATUS_OK : STATUS_OVERFLOW;
+            case MULTIPLY: return (long) a * b == a * b ? STATUS_OK : STATUS_OVERFLOW;
+            case DIVIDE:
+                if (b == 0) {
+                    return STATUS_DIVIDE_BY_ZERO;
+                }
+                return a == Integer.MIN_VALUE && b == -1 ? STATUS_OVERFLOW : STATUS_OK;
+            case MODULO: return b == 0 ? STATUS_DIVIDE_BY_ZERO : STATUS_OK;
+            case LEFT:
+            case RIGHT: return b < 0 || b >= 32 ? STATUS_INVALID_OPERAND : STATUS_OK;
+            default: return STATUS_OK;
+        }
+    }
+
+    // Mirrors ALULogic's narrow-word failures: the error flag marks a zero divisor or bad
+    // shift amount, and overflow only fails the arithmetic operations
+    private static byte narrowStatus(ALUOperation op, int flags, boolean division) {
+        if ((flags & LookupTableALU.FLAG_ERROR) != 0) {
+            return division ? STATUS_DIVIDE_BY_ZERO : STATUS_INVALID_OPERAND;
+        }
+        if ((flags & LookupTableALU.FLAG_OVERFLOW) != 0 && (op == ALUOperation.ADD || op == ALUOperation.SUBTRACT
+                || op == ALUOperation.MULTIPLY || op == ALUOperation.DIVIDE)) {
+            return STATUS_OVERFLOW;
+        }
+        return STATUS_OK;
+    }
+
+    private interface ChunkTask {
+        void run(long chunk) throws IOException;
+    }
+
+    private static void forEachChunk(long chunks, ChunkTask task) throws IOException {
+        try {
+            IntStream.range(0, Math.toIntExact(chunks)).parallel().forEach(chunk -> {
+                try {
+                    task.run(chunk);
+                } catch (IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            });
+        } catch (java.io.UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // --- Mapping helpers ---
+
+    private interface ChannelTask {
+        void run(FileChannel channel) throws IOException;
+    }
+
+    // Creates file through a temporary file in the same directory, which fill writes the
+    // columns of. The column mappings are forced by fill, then the header is written and
+    // forced, and only then is the file moved into place. An interrupted run never leaves
+    // a valid-looking file, and never touches an existing one.
+    private static void write(Path file, Header header, ChannelTask fill) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // Sized up front so workers can map their chunks independently
+                if (header.fileSize() > 0) {
+                    channel.write(java.nio.ByteBuffer.allocate(1), header.fileSize() - 1);
+                }
+                fill.run(channel);
+                writeHeader(channel, header);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, Header header) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        header.write(buffer);
+        buffer.force();
+    }
+
+    private static MappedByteBuffer mapColumn(FileChannel channel, Header header, int column, long first, int rows,
+                                              FileChannel.MapMode mode) throws IOException {
+        int bytes = header.getWidth() / 8;
+        long offset = HEADER_BYTES + column * header.columnBytes() + first * bytes;
+        MappedByteBuffer buffer = channel.map(mode, offset, (long) rows * bytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static MappedByteBuffer mapStatus(FileChannel channel, Header header, long first, int rows,
+                                              FileChannel.MapMode mode) throws IOException {
+        return channel.map(mode, HEADER_BYTES + header.columnBytes() + first, rows);
+    }
+
+    // Narrow columns are sign-extended, matching ALULogic's narrow word results
+    private static int get(MappedByteBuffer column, int index, int width) {
+        switch (width) {
+            case 8: return column.get(index);
+            case 16: return column.getShort(index * 2);
+            default: return column.getInt(index * 4);
+        }
+    }
+
+    private static void put(MappedByteBuffer column, int index, int width, int value) {
+        switch (width) {
+            case 8: column.put(index, (byte) value); break;
+            case 16: column.putShort(index * 2, (short) value); break;
+            default: column.putInt(index * 4, value); break;
+        }
+    }
+
+    private static String format(int value, Header header) {
+        if (header.getBase() == 2) {
+            return Integer.toBinaryString(header.getWidth() < 32 ? value & ((1 << header.getWidth()) - 1) : value);
+        } else if (header.getBase() == 16) {
+            return String.format("0x%X", header.getWidth() < 32 ? value & ((1 << header.getWidth()) - 1) : value);
+        }
+        boolean floatValue = header.isResultFile() ? header.getOperation().hasFloatResult()
+            : header.getOperation().hasFloatOperands();
+        return floatValue ? Float.toString(Float.intBitsToFloat(value)) : Integer.toString(value);
+    }
+}
@@ -0,0 +1,283 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.Locale;
+
+// UI latency instrumentation for ALUInterface, enabled with -Dalu.edtMonitor=<stall ms>
+// (or "true" for the default threshold). When disabled every hook returns immediately.
+//
+// An interaction runs from the input event that triggered a calculation until the first
+// repaint after all of its invokeLater callbacks ran. Its time is split into phases:
+// the code under test brackets work with enter(phase)/exit(), nested phases are
+// attributed exclusively, callbacks wrapped with queued() record their queue wait and
+// the repaint is timed by a RepaintManager. Time not covered by any phase (input event
+// dispatch lag, layout, other events) is reported as "other".
+//
+// Independently, a watchdog thread samples the EDT stack whenever a single event has been
+// dispatching for longer than the stall threshold. Results go to System.err and to an
+// optional overlay label.
+public class EdtMonitor {
+    public enum Phase {
+        VALIDATION("validation"),
+        CALCULATION("calculation"),
+        QUEUE("queue"),
+        HISTORY("history"),
+        REPAINT("repaint");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    static final String PROPERTY = "alu.edtMonitor";
+    static final long DEFAULT_STALL_THRESHOLD_MS = 100;
+    private static final int MAX_NESTING = 16;
+    private static final int STACK_SAMPLE_DEPTH = 12;
+
+    private final boolean enabled;
+    private final long stallThresholdNanos;
+    private JLabel overlay;
+
+    // Interaction state, EDT only
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final Phase[] stackPhase = new Phase[MAX_NESTING];
+    private final long[] stackStart = new long[MAX_NESTING];
+    private final long[] stackChildren = new long[MAX_NESTING];
+    private int depth;
+    private boolean interactionOpen;
+    private boolean calculationDone;
+    private long interactionStart;
+    private int pendingCallbacks;
+
+    // Dispatch state, written by the EDT and read by the watchdog
+    private volatile long dispatchStart; // 0 while the EDT is idle
+    private volatile long dispatchSequence;
+    private volatile AWTEvent dispatchEvent;
+    private volatile Thread edt;
+
+    private EdtMonitor(boolean enabled, long stallThresholdMs) {
+        this.enabled = enabled;
+        this.stallThresholdNanos = stallThresholdMs * 1_000_000L;
+    }
+
+    // Reads the system property and, if it is set, installs the event queue, repaint
+    // manager and watchdog. Must be called on the EDT.
+    public static EdtMonitor fromSystemProperty() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.equalsIgnoreCase("false")) {
+            return new EdtMonitor(false, 0);
+        }
+        long threshold = DEFAULT_STALL_THRESHOLD_MS;
+        if (!value.isEmpty() && !value.equalsIgnoreCase("true")) {
+            try {
+                threshold = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                System.err.println("[EDT] Ignoring invalid " + PROPERTY + " threshold: " + value);
+            }
+        }
+        EdtMonitor monitor = new EdtMonitor(true, Math.max(1, threshold));
+        monitor.install();
+        return monitor;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Label that shows the latest interaction breakdown; null while disabled
+    public JLabel createOverlay() {
+        if (!enabled) {
+            return null;
+        }
+        overlay = new JLabel("EDT monitor: waiting for a calculation");
+        overlay.setFont(new Font("Consolas", Font.PLAIN, 11));
+        overlay.setBorder(BorderFactory.createEmptyBorder(2, 6, 2, 6));
+        return overlay;
+    }
+
+    // --- Interaction hooks (EDT only) ---
+
+    public void beginInteraction() {
+        if (!enabled) {
+            return;
+        }
+        java.util.Arrays.fill(phaseNanos, 0);
+        long now = System.nanoTime();
+        // Include the time the triggering input event waited before being dispatched
+        long eventTime = EventQueue.getMostRecentEventTime();
+        long lagMillis = Math.max(0, System.currentTimeMillis() - eventTime);
+        interactionStart = now - lagMillis * 1_000_000L;
+        interactionOpen = true;
+        calculationDone = false;
+        pendingCallbacks = 0;
+    }
+
+    // Drops the current interaction, e.g. when a modal error dialog takes over the EDT
+    public void cancelInteraction() {
+        interactionOpen = false;
+    }
+
+    public void enter(Phase phase) {
+        if (!enabled || depth == MAX_NESTING) {
+            return;
+        }
+        stackPhase[depth] = phase;
+        stackStart[depth] = System.nanoTime();
+        stackChildren[depth] = 0;
+        depth++;
+    }
+
+    public void exit() {
+        if (!enabled || depth == 0) {
+            return;
+        }
+        depth--;
+        long elapsed = System.nanoTime() - stackStart[depth];
+        if (depth > 0) {
+            stackChildren[depth - 1] += elapsed;
+        }
+        Phase phase = stackPhase[depth];
+        if (interactionOpen) {
+            phaseNanos[phase.ordinal()] += elapsed - stackChildren[depth];
+            if (phase == Phase.CALCULATION && depth == 0) {
+                calculationDone = true;
+            }
+        }
+    }
+
+    // Wraps a callback for SwingUtilities.invokeLater so its queue wait counts as QUEUE
+    public Runnable queued(Runnable callback) {
+        if (!enabled) {
+            return callback;
+        }
+        long enqueued = System.nanoTime();
+        boolean counted = interactionOpen && SwingUtilities.isEventDispatchThread();
+        if (counted) {
+            pendingCallbacks++;
+        }
+        return () -> {
+            if (counted && interactionOpen) {
+                phaseNanos[Phase.QUEUE.ordinal()] += System.nanoTime() - enqueued;
+            }
+            try {
+                callback.run();
+            } finally {
+                if (counted && pendingCallbacks > 0) {
+                    pendingCallbacks--;
+                }
+            }
+        };
+    }
+
+    private void paintFinished(long paintNanos) {
+        if (!interactionOpen || !calculationDone) {
+            return;
+        }
+        phaseNanos[Phase.REPAINT.ordinal()] += paintNanos;
+        if (pendingCallbacks == 0 && depth == 0) {
+            interactionOpen = false;
+            report(System.nanoTime() - interactionStart);
+        }
+    }
+
+    private void report(long totalNanos) {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%.2f ms:", totalNanos / 1e6));
+        long covered = 0;
+        for (Phase phase : Phase.values()) {
+            long nanos = phaseNanos[phase.ordinal()];
+            covered += nanos;
+            sb.append(String.format(Locale.ROOT, " %s %.2f", phase.label, nanos / 1e6));
+        }
+        sb.append(String.format(Locale.ROOT, " other %.2f", Math.max(0, totalNanos - covered) / 1e6));
+        System.err.println("[EDT] interaction " + sb);
+        if (overlay != null) {
+            overlay.setText("EDT " + sb);
+        }
+    }
+
+    // --- Installation ---
+
+    private void install() {
+        edt = Thread.currentThread();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new TimedEventQueue());
+        RepaintManager.setCurrentManager(new TimedRepaintManager());
+        Thread watchdog = new Thread(this::watch, "EdtMonitor-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+        System.err.println("[EDT] monitor enabled, stall threshold " + stallThresholdNanos / 1_000_000 + " ms");
+    }
+
+    private final class TimedEventQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            edt = Thread.currentThread();
+            dispatchEvent = event;
+            dispatchSequence++;
+            dispatchStart = System.nanoTime();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                // A nested (modal) loop also ends here; the outer event is then waiting, not stalled
+                dispatchStart = 0;
+                dispatchEvent = null;
+            }
+        }
+    }
+
+    private final class TimedRepaintManager extends RepaintManager {
+        @Override
+        public void paintDirtyRegions() {
+            long start = System.nanoTime();
+            super.paintDirtyRegions();
+            paintFinished(System.nanoTime() - start);
+        }
+    }
+
+    private void watch() {
+        long reportedSequence = -1;
+        long pollMillis = Math.max(1, stallThresholdNanos / 4_000_000L);
+        while (true) {
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long start = dispatchStart;
+            long sequence = dispatchSequence;
+            if (start == 0 || sequence == reportedSequence) {
+                continue;
+            }
+            long stalled = System.nanoTime() - start;
+            if (stalled < stallThresholdNanos) {
+                continue;
+            }
+            Thread thread = edt;
+            StackTraceElement[] stack = thread.getStackTrace();
+            if (dispatchSequence != sequence) {
+                continue; // The event finished while the stack was sampled
+            }
+            reportedSequence = sequence;
+            reportStall(stalled, dispatchEvent, stack);
+        }
+    }
+
+    private void reportStall(long stalledNanos, AWTEvent event, StackTraceElement[] stack) {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "[EDT] stall: %.0f ms dispatching %s",
+            stalledNanos / 1e6, event == null ? "?" : event.getClass().getSimpleName()));
+        String top = null;
+        for (int i = 0; i < Math.min(STACK_SAMPLE_DEPTH, stack.length); i++) {
+            sb.append("\n\tat ").append(stack[i]);
+            if (top == null && !stack[i].getClassName().startsWith("java.")
+                    && !stack[i].getClassName().startsWith("javax.") && !stack[i].getClassName().startsWith("sun.")) {
+                top = stack[i].getClassName() + "." + stack[i].getMethodName();
+            }
+        }
+        System.err.println(sb);
+        if (overlay != null) {
+            String text = String.format(Locale.ROOT, "EDT stall %.0f ms in %s", stalledNanos / 1e6,
+                top != null ? top : stack.length > 0 ? stack[0].toString() : "?");
+            SwingUtilities.invokeLater(() -> overlay.setText(text));
+        }
+    }
+}
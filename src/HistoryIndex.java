@@ -0,0 +1,402 @@
+import java.util.Arrays;
+
+// Unbounded calculation history stored column-wise in primitive arrays, with secondary
+// indexes for fast lookup by operation, operand or result:
+//  - one bitmap per ALUOperation marking the rows that used it
+//  - open-addressed hash indexes for operand a, operand b and the result. Each distinct
+//    key maps to its newest row; older rows with the same key are chained through a
+//    per-index int[] "next" column, so nothing is ever boxed.
+// Row numbers are assigned in insertion order, and queries return the newest rows first.
+public class HistoryIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_ROW = -1;
+
+    private int size;
+    private byte[] operations = new byte[INITIAL_CAPACITY];
+    private int[] operandsA = new int[INITIAL_CAPACITY];
+    private int[] operandsB = new int[INITIAL_CAPACITY];
+    private int[] results = new int[INITIAL_CAPACITY];
+
+    private final long[][] operationBitmaps = new long[ALUOperation.values().length][INITIAL_CAPACITY / 64];
+    private final int[] operationCounts = new int[ALUOperation.values().length];
+    private final IntHashIndex operandAIndex = new IntHashIndex();
+    private final IntHashIndex operandBIndex = new IntHashIndex();
+    private final IntHashIndex resultIndex = new IntHashIndex();
+
+    public int add(ALUOperation operation, int a, int b, int result) {
+        if (size == operations.length) {
+            grow();
+        }
+        int row = size++;
+        operations[row] = (byte) operation.ordinal();
+        operandsA[row] = a;
+        operandsB[row] = b;
+        results[row] = result;
+        operationBitmaps[operation.ordinal()][row >>> 6] |= 1L << row;
+        operationCounts[operation.ordinal()]++;
+        operandAIndex.add(a, row);
+        operandBIndex.add(b, row);
+        resultIndex.add(result, row);
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ALUOperation getOperation(int row) {
+        return ALUOperation.values()[operations[checkRow(row)]];
+    }
+
+    public int getOperandA(int row) {
+        return operandsA[checkRow(row)];
+    }
+
+    public int getOperandB(int row) {
+        return operandsB[checkRow(row)];
+    }
+
+    public int getResult(int row) {
+        return results[checkRow(row)];
+    }
+
+    public Query query() {
+        return new Query();
+    }
+
+    // Parses filters such as "DIVIDE result=0" or "a=0x7FFFFFFF": operation keys plus
+    // a=, b= and result= terms. Values accept decimal, 0x hex and # hex.
+    public Query parseQuery(String text) {
+        Query query = new Query();
+        for (String token : text.trim().split("\\s+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int eq = token.indexOf('=');
+            if (eq < 0) {
+                query.operation(ALUOperation.fromKey(token));
+                continue;
+            }
+            String field = token.substring(0, eq).toLowerCase();
+            int value = parseValue(token.substring(eq + 1));
+            if (field.equals("a")) {
+                query.operandA(value);
+            } else if (field.equals("b")) {
+                query.operandB(value);
+            } else if (field.equals("result") || field.equals("r")) {
+                query.result(value);
+            } else {
+                throw new IllegalArgumentException("Unknown history field: " + field);
+            }
+        }
+        return query;
+    }
+
+    private static int parseValue(String text) {
+        long value;
+        try {
+            value = Long.decode(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value: " + text);
+        }
+        if (value < Integer.MIN_VALUE || value > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Value does not fit in 32 bits: " + text);
+        }
+        return (int) value;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("History row " + row + " out of range 0.." + (size - 1));
+        }
+        return row;
+    }
+
+    private void grow() {
+        int capacity = operations.length * 2;
+        operations = Arrays.copyOf(operations, capacity);
+        operandsA = Arrays.copyOf(operandsA, capacity);
+        operandsB = Arrays.copyOf(operandsB, capacity);
+        results = Arrays.copyOf(results, capacity);
+        for (int i = 0; i < operationBitmaps.length; i++) {
+            operationBitmaps[i] = Arrays.copyOf(operationBitmaps[i], capacity / 64);
+        }
+        operandAIndex.growRows(capacity);
+        operandBIndex.growRows(capacity);
+        resultIndex.growRows(capacity);
+    }
+
+    // Conjunctive query: rows must match one of the selected operations (if any) and
+    // every operand/result value that was set.
+    public class Query {
+        private long operationMask; // Bit per ALUOperation ordinal, 0 means any
+        private boolean hasA, hasB, hasResult;
+        private int a, b, result;
+        private int limit = Integer.MAX_VALUE;
+        private long[][] selectedBitmaps; // Resolved per scan, bitmaps are reallocated on growth
+
+        public Query operation(ALUOperation operation) {
+            operationMask |= 1L << operation.ordinal();
+            return this;
+        }
+
+        public Query operandA(int value) {
+            hasA = true;
+            a = value;
+            return this;
+        }
+
+        public Query operandB(int value) {
+            hasB = true;
+            b = value;
+            return this;
+        }
+
+        public Query result(int value) {
+            hasResult = true;
+            result = value;
+            return this;
+        }
+
+        public Query limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("Limit must not be negative");
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        // Matching row numbers, newest first, at most limit entries
+        public int[] rows() {
+            int[] out = new int[Math.min(limit, 64)];
+            int count = 0;
+            RowCursor cursor = cursor();
+            for (int row = cursor.next(); row != NO_ROW && count < limit; row = cursor.next()) {
+                if (count == out.length) {
+                    out = Arrays.copyOf(out, (int) Math.min((long) out.length * 2, limit));
+                }
+                out[count++] = row;
+            }
+            return count == out.length ? out : Arrays.copyOf(out, count);
+        }
+
+        public int count() {
+            selectedBitmaps = null;
+            int valueTerms = (hasA ? 1 : 0) + (hasB ? 1 : 0) + (hasResult ? 1 : 0);
+            if (valueTerms == 1 && operationMask == 0) {
+                // Single hash term: the index keeps a per-key count
+                int total = hasA ? operandAIndex.count(a) : hasB ? operandBIndex.count(b) : resultIndex.count(result);
+                return Math.min(total, limit);
+            }
+            if (valueTerms == 0) {
+                // Pure bitmap query: popcount instead of visiting rows
+                long total = 0;
+                for (int word = 0, words = (size + 63) >>> 6; word < words; word++) {
+                    total += Long.bitCount(operationWord(word));
+                }
+                return (int) Math.min(total, limit);
+            }
+            int count = 0;
+            if (selectedOperationCount() <= cheapestValueCount()) {
+                // Tight bitmap scan, filtering each selected row on the value terms
+                for (int word = 0, words = (size + 63) >>> 6; word < words && count < limit; word++) {
+                    long bits = operationWord(word);
+                    while (bits != 0) {
+                        int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        if (matches(row)) {
+                            count++;
+                        }
+                    }
+                }
+                return Math.min(count, limit);
+            }
+            RowCursor cursor = cursor();
+            while (count < limit && cursor.next() != NO_ROW) {
+                count++;
+            }
+            return count;
+        }
+
+        private boolean matches(int row) {
+            return (operationMask == 0 || (operationMask & (1L << operations[row])) != 0)
+                && (!hasA || operandsA[row] == a)
+                && (!hasB || operandsB[row] == b)
+                && (!hasResult || results[row] == result);
+        }
+
+        private long operationWord(int word) {
+            if (operationMask == 0) {
+                int remaining = size - (word << 6);
+                return remaining >= 64 ? -1L : (1L << remaining) - 1;
+            }
+            if (selectedBitmaps == null) {
+                selectedBitmaps = new long[Long.bitCount(operationMask)][];
+                for (int op = 0, i = 0; op < operationBitmaps.length; op++) {
+                    if ((operationMask & (1L << op)) != 0) {
+                        selectedBitmaps[i++] = operationBitmaps[op];
+                    }
+                }
+            }
+            long bits = 0;
+            for (long[] bitmap : selectedBitmaps) {
+                bits |= bitmap[word];
+            }
+            return bits;
+        }
+
+        private int cheapestValueCount() {
+            int best = Integer.MAX_VALUE;
+            if (hasA) best = Math.min(best, operandAIndex.count(a));
+            if (hasB) best = Math.min(best, operandBIndex.count(b));
+            if (hasResult) best = Math.min(best, resultIndex.count(result));
+            return best;
+        }
+
+        private int selectedOperationCount() {
+            if (operationMask == 0) {
+                return size;
+            }
+            int total = 0;
+            for (int op = 0; op < operationCounts.length; op++) {
+                if ((operationMask & (1L << op)) != 0) {
+                    total += operationCounts[op];
+                }
+            }
+            return total;
+        }
+
+        private RowCursor cursor() {
+            selectedBitmaps = null;
+            // Drive the scan from the most selective index, filtering on the remaining terms
+            IntHashIndex driver = null;
+            int key = 0;
+            int best = selectedOperationCount();
+            if (hasA && operandAIndex.count(a) < best) {
+                driver = operandAIndex; key = a; best = operandAIndex.count(a);
+            }
+            if (hasB && operandBIndex.count(b) < best) {
+                driver = operandBIndex; key = b; best = operandBIndex.count(b);
+            }
+            if (hasResult && resultIndex.count(result) < best) {
+                driver = resultIndex; key = result;
+            }
+            if (driver != null) {
+                IntHashIndex chain = driver;
+                int[] row = {chain.head(key)};
+                return () -> {
+                    while (row[0] != NO_ROW) {
+                        int current = row[0];
+                        row[0] = chain.next(current);
+                        if (matches(current)) {
+                            return current;
+                        }
+                    }
+                    return NO_ROW;
+                };
+            }
+            // Bitmap scan from the newest word down
+            boolean filter = hasA || hasB || hasResult;
+            int[] word = {(size + 63) >>> 6}; // Next word to load, 0 = exhausted
+            long[] bits = {0L};
+            return () -> {
+                while (true) {
+                    while (bits[0] == 0) {
+                        if (word[0] == 0) {
+                            return NO_ROW;
+                        }
+                        word[0]--;
+                        bits[0] = operationWord(word[0]);
+                    }
+                    int bit = 63 - Long.numberOfLeadingZeros(bits[0]);
+                    bits[0] &= ~(1L << bit);
+                    int row = (word[0] << 6) + bit;
+                    if (!filter || matches(row)) {
+                        return row;
+                    }
+                }
+            };
+        }
+    }
+
+    private interface RowCursor {
+        int next(); // NO_ROW when exhausted
+    }
+
+    // Open-addressed int -> newest row map with per-row chaining to older rows
+    private static final class IntHashIndex {
+        private int[] keys = new int[64];
+        private int[] heads = new int[64];   // NO_ROW marks an empty slot
+        private int[] counts = new int[64];
+        private int distinct;
+        private int[] nextRow = new int[INITIAL_CAPACITY];
+
+        IntHashIndex() {
+            Arrays.fill(heads, NO_ROW);
+        }
+
+        void add(int key, int row) {
+            if ((distinct + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+            int slot = find(keys, heads, key);
+            if (heads[slot] == NO_ROW) {
+                keys[slot] = key;
+                distinct++;
+            }
+            nextRow[row] = heads[slot];
+            heads[slot] = row;
+            counts[slot]++;
+        }
+
+        int head(int key) {
+            return heads[find(keys, heads, key)];
+        }
+
+        int count(int key) {
+            int slot = find(keys, heads, key);
+            return heads[slot] == NO_ROW ? 0 : counts[slot];
+        }
+
+        int next(int row) {
+            return nextRow[row];
+        }
+
+        void growRows(int capacity) {
+            nextRow = Arrays.copyOf(nextRow, capacity);
+        }
+
+        private void rehash(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldHeads = heads;
+            int[] oldCounts = counts;
+            keys = new int[capacity];
+            heads = new int[capacity];
+            counts = new int[capacity];
+            Arrays.fill(heads, NO_ROW);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldHeads[i] != NO_ROW) {
+                    int slot = find(keys, heads, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    heads[slot] = oldHeads[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        private static int find(int[] keys, int[] heads, int key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (heads[slot] != NO_ROW && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
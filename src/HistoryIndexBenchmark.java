@@ -0,0 +1,45 @@
+import java.util.SplittableRandom;
+
+// Fills a HistoryIndex with synthetic records and times typical queries against it
+public class HistoryIndexBenchmark {
+
+    public static void run(int count) {
+        HistoryIndex index = new HistoryIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        ALUOperation[] operations = ALUOperation.values();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            ALUOperation op = operations[random.nextInt(operations.length)];
+            int a = random.nextInt(8) == 0 ? Integer.MAX_VALUE : random.nextInt(1 << 20);
+            int b = random.nextInt(1 << 10);
+            int result = random.nextInt(4) == 0 ? 0 : random.nextInt();
+            index.add(op, a, b, result);
+        }
+        double buildMs = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("Indexed %d records in %.1f ms%n", count, buildMs);
+
+        time("DIVIDE result=0, newest 100", () -> index.parseQuery("DIVIDE result=0").limit(100).rows().length);
+        time("DIVIDE result=0, count", () -> index.parseQuery("DIVIDE result=0").count());
+        time("a=0x7FFFFFFF, newest 100", () -> index.parseQuery("a=0x7FFFFFFF").limit(100).rows().length);
+        time("a=0x7FFFFFFF b=7, count", () -> index.parseQuery("a=0x7FFFFFFF b=7").count());
+        time("MULTIPLY, count", () -> index.parseQuery("MULTIPLY").count());
+        time("MULTIPLY OR NOT, newest 1000", () -> index.parseQuery("MULTIPLY NOT").limit(1000).rows().length);
+    }
+
+    private interface QueryRun {
+        int run();
+    }
+
+    // Reports the best of several runs after a warm-up
+    private static void time(String label, QueryRun query) {
+        int matches = query.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            query.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-32s %10d matches %8.3f ms%n", label, matches, best / 1_000_000.0);
+    }
+}
@@ -0,0 +1,175 @@
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Computes every previewable operation for the current inputs on a background thread.
+// Each request supersedes the previous one: a queued computation is cancelled and a
+// running one stops at its next operation, so the worker never falls behind the typist.
+// A computation that finishes delivers all of its results to the EDT in one invokeLater,
+// and only if no newer request arrived in the meantime.
+//
+// The worker owns its own ALULogic and WideALU, so previews never touch the GUI's ALU,
+// its history or its listeners.
+public class LivePreview {
+    private static final int MAX_VALUE_LENGTH = 40;
+
+    public static final class Inputs {
+        final String input1;
+        final String input2;
+        final String base;
+        final int width;
+        final int roundingMode;
+
+        public Inputs(String input1, String input2, String base, int width, int roundingMode) {
+            this.input1 = input1;
+            this.input2 = input2;
+            this.base = base;
+            this.width = width;
+            this.roundingMode = roundingMode;
+        }
+    }
+
+    private final Consumer<Map<ALUOperation, String>> onUpdate;
+    private final ExecutorService worker;
+    private final AtomicLong generation = new AtomicLong();
+    private Future<?> pending; // EDT only
+
+    // Worker thread state
+    private final ALULogic alu = new ALULogic();
+    private WideALU wideAlu;
+
+    // onUpdate runs on the EDT
+    public LivePreview(Consumer<Map<ALUOperation, String>> onUpdate) {
+        this.onUpdate = onUpdate;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "LivePreview");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    // LOAD and STORE are left out: a preview must not write memory and has none to read
+    public static List<ALUOperation> previewOperations() {
+        List<ALUOperation> operations = new ArrayList<>();
+        for (ALUOperation op : ALUOperation.values()) {
+            if (op != ALUOperation.LOAD && op != ALUOperation.STORE) {
+                operations.add(op);
+            }
+        }
+        return Collections.unmodifiableList(operations);
+    }
+
+    // Call on the EDT, e.g. from a DocumentListener
+    public void request(Inputs inputs) {
+        long current = generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = worker.submit(() -> compute(inputs, current));
+    }
+
+    public void shutdown() {
+        generation.incrementAndGet();
+        worker.shutdownNow();
+    }
+
+    private void compute(Inputs inputs, long requestGeneration) {
+        Map<ALUOperation, String> values = new EnumMap<>(ALUOperation.class);
+        if (inputs.width > 32) {
+            if (wideAlu == null || wideAlu.getWidth() != inputs.width) {
+                wideAlu = new WideALU(inputs.width);
+            }
+        } else {
+            alu.setWordWidth(inputs.width);
+        }
+        alu.setRoundingMode(inputs.roundingMode);
+        for (ALUOperation op : previewOperations()) {
+            if (generation.get() != requestGeneration) {
+                return; // Superseded by a newer keystroke
+            }
+            values.put(op, evaluate(op, inputs));
+        }
+        SwingUtilities.invokeLater(() -> {
+            if (generation.get() == requestGeneration) {
+                onUpdate.accept(values);
+            }
+        });
+    }
+
+    private String evaluate(ALUOperation op, Inputs inputs) {
+        String input1 = inputs.input1.trim();
+        String input2 = inputs.input2.trim();
+        if (input1.isEmpty() || (!op.isUnary() && input2.isEmpty())) {
+            return "";
+        }
+        try {
+            if (op.hasFloatOperands()) {
+                if (inputs.width != 32) {
+                    return "n/a at " + inputs.width + "-bit";
+                }
+                if (!alu.isValidFloatInput(input1, inputs.base) || !alu.isValidFloatInput(input2, inputs.base)) {
+                    return "invalid float";
+                }
+                int result = op.evaluate(alu, alu.parseFloatInput(input1, inputs.base),
+                    alu.parseFloatInput(input2, inputs.base));
+                return op.hasFloatResult() ? formatFloat(result, inputs.base) : Integer.toString(result);
+            }
+            if (inputs.width > 32) {
+                if (!wideAlu.isValidInput(input1, inputs.base)
+                        || (!op.isUnary() && !wideAlu.isValidInput(input2, inputs.base))) {
+                    return "invalid input";
+                }
+                int[] a = wideAlu.parse(input1, inputs.base);
+                int[] b = op.isUnary() ? wideAlu.newValue() : wideAlu.parse(input2, inputs.base);
+                int[] result = wideAlu.newValue();
+                wideAlu.apply(op, a, b, result);
+                return abbreviate(wideAlu.toString(result, inputs.base));
+            }
+            if (!alu.isValidInput(input1, inputs.base)
+                    || (!op.isUnary() && !alu.isValidInput(input2, inputs.base))) {
+                return "invalid input";
+            }
+            int a = alu.parseInput(input1, inputs.base);
+            int b = op.isUnary() ? 0 : alu.parseInput(input2, inputs.base);
+            return formatInt(op.evaluate(alu, a, b), inputs.base);
+        } catch (ArithmeticException | IllegalArgumentException e) {
+            return e.getMessage(); // Also covers NumberFormatException
+        }
+    }
+
+    // Matches ALUInterface.displayResult
+    private String formatInt(int value, String base) {
+        if ("Binary".equals(base)) {
+            return Integer.toBinaryString(alu.toWordPattern(value));
+        } else if ("Hexadecimal".equals(base)) {
+            return String.format("0x%X", alu.toWordPattern(value));
+        }
+        return String.valueOf(value);
+    }
+
+    // Matches ALUInterface.displayFloatResult
+    private static String formatFloat(int bits, String base) {
+        if ("Binary".equals(base)) {
+            return Integer.toBinaryString(bits);
+        } else if ("Hexadecimal".equals(base)) {
+            return String.format("0x%08X", bits);
+        }
+        return Float.toString(Float.intBitsToFloat(bits));
+    }
+
+    private static String abbreviate(String value) {
+        if (value.length() <= MAX_VALUE_LENGTH) {
+            return value;
+        }
+        return value.substring(0, MAX_VALUE_LENGTH / 2) + "..." + value.substring(value.length() - MAX_VALUE_LENGTH / 2);
+    }
+}
@@ -0,0 +1,414 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+// Precomputed result-and-flags tables for 8- and 16-bit words. Each entry packs the
+// width-bit result in the low 16 bits and the FLAG_* bits above it.
+//
+// Binary ops are indexed by both operands (2^(2*width) entries), shifts by operand and
+// amount (2^width * width) and NOT by operand alone. A table is only built if it fits
+// the memory budget: at 8 bits that is every op, at 16 bits NOT and the shifts, while
+// the 2^32-entry binary tables fall back to computing the same entry on the fly.
+//
+// Tables are generated in parallel straight into a memory-mapped cache file (see
+// forWidth), so later runs map the finished file instead of regenerating it. A cached
+// file is only trusted if its checksum matches and sampled entries agree with compute().
+public class LookupTableALU {
+    public static final int FLAG_ZERO = 1;
+    public static final int FLAG_NEGATIVE = 1 << 1;
+    public static final int FLAG_CARRY = 1 << 2;    // Unsigned carry/borrow out, or last bit shifted out
+    public static final int FLAG_OVERFLOW = 1 << 3; // Signed overflow, including MIN / -1
+    public static final int FLAG_ERROR = 1 << 4;    // Division/modulo by zero or shift amount out of range
+    static final int FLAG_SHIFT = 16;
+
+    static final ALUOperation[] TABLE_OPERATIONS = {
+        ALUOperation.ADD, ALUOperation.SUBTRACT, ALUOperation.MULTIPLY, ALUOperation.DIVIDE,
+        ALUOperation.MODULO, ALUOperation.AND, ALUOperation.OR, ALUOperation.NOT,
+        ALUOperation.LEFT, ALUOperation.RIGHT
+    };
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20; // Bytes per table
+    private static final int MAGIC = 0x54554C41; // "ALUT"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 20; // Magic, version, width, table mask, CRC32C of the tables
+    private static final int SPOT_CHECKS = 1024; // Sampled entries per table when opening a cache
+
+    private static final AtomicReferenceArray<LookupTableALU> SHARED = new AtomicReferenceArray<>(17);
+
+    private final int width;
+    private final int mask;
+    // Indexed by ALUOperation ordinal; null where the op is computed instead
+    private final IntBuffer[] tables = new IntBuffer[ALUOperation.values().length];
+
+    private LookupTableALU(int width) {
+        if (width != 8 && width != 16) {
+            throw new IllegalArgumentException("Lookup tables support 8 and 16-bit words, not " + width);
+        }
+        this.width = width;
+        this.mask = (1 << width) - 1;
+    }
+
+    // Shared tables for the width, mapped from the cache directory and generated there on
+    // first use. The directory is the alu.lutDir system property, or a per-user cache
+    // directory ($XDG_CACHE_HOME/alu or ~/.cache/alu) created owner-only. A directory
+    // other users can write to is refused. If the cache cannot be used the tables are
+    // generated into memory instead. The first call for a width may take a while, so
+    // interactive callers should make it off the EDT (see isLoaded).
+    public static synchronized LookupTableALU forWidth(int width) {
+        if (width != 8 && width != 16) {
+            throw new IllegalArgumentException("Lookup tables support 8 and 16-bit words, not " + width);
+        }
+        LookupTableALU lut = SHARED.get(width);
+        if (lut == null) {
+            try {
+                Path file = cacheDirectory().resolve("alu-lut-" + width + ".bin");
+                lut = open(file, width, DEFAULT_MEMORY_BUDGET);
+            } catch (IOException e) {
+                System.err.println("Lookup table cache unavailable (" + e.getMessage() + "), generating in memory");
+                lut = inMemory(width, DEFAULT_MEMORY_BUDGET);
+            }
+            SHARED.set(width, lut);
+        }
+        return lut;
+    }
+
+    // True once forWidth(width) returns without generating or mapping anything
+    public static boolean isLoaded(int width) {
+        return (width == 8 || width == 16) && SHARED.get(width) != null;
+    }
+
+    private static Path cacheDirectory() throws IOException {
+        String configured = System.getProperty("alu.lutDir");
+        Path dir;
+        if (configured != null) {
+            dir = Paths.get(configured);
+        } else {
+            String xdg = System.getenv("XDG_CACHE_HOME");
+            dir = (xdg != null && !xdg.isEmpty() ? Paths.get(xdg) : Paths.get(System.getProperty("user.home"), ".cache"))
+                .resolve("alu");
+        }
+        dir = dir.toAbsolutePath();
+        boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+        if (!Files.isDirectory(dir)) {
+            if (posix) {
+                Files.createDirectories(dir.getParent());
+                Files.createDirectory(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            } else {
+                Files.createDirectories(dir);
+            }
+        }
+        if (posix) {
+            PosixFileAttributes attributes = Files.getFileAttributeView(dir, PosixFileAttributeView.class).readAttributes();
+            UserPrincipal user = FileSystems.getDefault().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+            if (!attributes.owner().equals(user)) {
+                throw new IOException(dir + " is not owned by " + user.getName());
+            }
+            if (attributes.permissions().contains(PosixFilePermission.GROUP_WRITE)
+                    || attributes.permissions().contains(PosixFilePermission.OTHERS_WRITE)) {
+                throw new IOException(dir + " is writable by other users");
+            }
+        }
+        return dir;
+    }
+
+    // Maps the cache file if it holds complete, intact tables for this width and budget,
+    // otherwise regenerates it. A new file is written under a temporary name and moved
+    // into place, so an interrupted generation is never mistaken for a valid cache.
+    public static LookupTableALU open(Path file, int width, long memoryBudget) throws IOException {
+        LookupTableALU lut = new LookupTableALU(width);
+        boolean[] tabled = lut.tabledOperations(memoryBudget);
+        long size = lut.fileSize(tabled);
+        if (Files.isRegularFile(file) && Files.size(file) == size) {
+            MappedByteBuffer mapped = map(file, FileChannel.MapMode.READ_ONLY, size);
+            if (mapped.getInt(0) == MAGIC && mapped.getInt(4) == VERSION && mapped.getInt(8) == width
+                    && mapped.getInt(12) == mask(tabled) && mapped.getInt(16) == checksum(mapped)) {
+                lut.attach(mapped, tabled);
+                if (lut.spotCheck()) {
+                    return lut;
+                }
+                java.util.Arrays.fill(lut.tables, null);
+            }
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            MappedByteBuffer mapped = map(temp, FileChannel.MapMode.READ_WRITE, size);
+            lut.attach(mapped, tabled);
+            lut.generate();
+            mapped.putInt(4, VERSION).putInt(8, width).putInt(12, mask(tabled)).putInt(16, checksum(mapped));
+            mapped.force();
+            mapped.putInt(0, MAGIC);
+            mapped.force();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return lut;
+    }
+
+    // Tables generated into off-heap memory, not persisted
+    public static LookupTableALU inMemory(int width, long memoryBudget) {
+        LookupTableALU lut = new LookupTableALU(width);
+        boolean[] tabled = lut.tabledOperations(memoryBudget);
+        for (int i = 0; i < TABLE_OPERATIONS.length; i++) {
+            if (tabled[i]) {
+                lut.tables[TABLE_OPERATIONS[i].ordinal()] = ByteBuffer
+                    .allocateDirect(Math.toIntExact(lut.entries(TABLE_OPERATIONS[i]) * 4))
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            }
+        }
+        lut.generate();
+        return lut;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public boolean hasTable(ALUOperation operation) {
+        return tables[operation.ordinal()] != null;
+    }
+
+    // Packed result and flags; operands are taken modulo 2^width. Ops without a table
+    // are computed, with identical results.
+    public int lookup(ALUOperation operation, int a, int b) {
+        IntBuffer table = tables[operation.ordinal()];
+        int index = table == null ? -1 : index(operation, a & mask, b);
+        return index < 0 ? compute(operation, a & mask, b, width) : table.get(index);
+    }
+
+    public static int result(int entry, int width) {
+        return (entry << (32 - width)) >> (32 - width); // Sign-extended
+    }
+
+    public static int flags(int entry) {
+        return entry >>> FLAG_SHIFT;
+    }
+
+    // --- Table layout ---
+
+    private long entries(ALUOperation operation) {
+        if (operation == ALUOperation.NOT) {
+            return 1L << width;
+        } else if (operation == ALUOperation.LEFT || operation == ALUOperation.RIGHT) {
+            return (1L << width) * width;
+        }
+        return 1L << (2 * width);
+    }
+
+    // Shift amounts outside 0..width-1 have no slot; lookup() computes their error entry
+    private int index(ALUOperation operation, int a, int b) {
+        if (operation == ALUOperation.NOT) {
+            return a;
+        } else if (operation == ALUOperation.LEFT || operation == ALUOperation.RIGHT) {
+            if (b < 0 || b >= width) {
+                return -1;
+            }
+            return a * width + b;
+        }
+        return (a << width) | (b & mask);
+    }
+
+    private boolean[] tabledOperations(long memoryBudget) {
+        boolean[] tabled = new boolean[TABLE_OPERATIONS.length];
+        for (int i = 0; i < tabled.length; i++) {
+            tabled[i] = entries(TABLE_OPERATIONS[i]) * 4 <= Math.min(memoryBudget, Integer.MAX_VALUE);
+        }
+        return tabled;
+    }
+
+    private static int mask(boolean[] tabled) {
+        int bits = 0;
+        for (int i = 0; i < tabled.length; i++) {
+            if (tabled[i]) {
+                bits |= 1 << i;
+            }
+        }
+        return bits;
+    }
+
+    private long fileSize(boolean[] tabled) {
+        long size = HEADER_BYTES;
+        for (int i = 0; i < tabled.length; i++) {
+            if (tabled[i]) {
+                size += entries(TABLE_OPERATIONS[i]) * 4;
+            }
+        }
+        return size;
+    }
+
+    private static MappedByteBuffer map(Path file, FileChannel.MapMode mode, long size) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+            ? new StandardOpenOption[]{StandardOpenOption.READ}
+            : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            MappedByteBuffer mapped = channel.map(mode, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            return mapped;
+        }
+    }
+
+    // Slices the tables out of a mapped file in TABLE_OPERATIONS order, after the header
+    private void attach(MappedByteBuffer mapped, boolean[] tabled) {
+        int offset = HEADER_BYTES;
+        for (int i = 0; i < tabled.length; i++) {
+            if (tabled[i]) {
+                int bytes = Math.toIntExact(entries(TABLE_OPERATIONS[i]) * 4);
+                ByteBuffer slice = mapped.duplicate();
+                slice.position(offset).limit(offset + bytes);
+                tables[TABLE_OPERATIONS[i].ordinal()] = slice.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                offset += bytes;
+            }
+        }
+    }
+
+    private static int checksum(MappedByteBuffer mapped) {
+        ByteBuffer tables = mapped.duplicate();
+        tables.position(HEADER_BYTES);
+        CRC32C crc = new CRC32C();
+        crc.update(tables);
+        return (int) crc.getValue();
+    }
+
+    // Compares randomly sampled entries of every table with compute(), so a file that was
+    // tampered with and re-checksummed is still caught with high probability
+    private boolean spotCheck() {
+        SplittableRandom random = new SplittableRandom();
+        for (ALUOperation operation : TABLE_OPERATIONS) {
+            IntBuffer table = tables[operation.ordinal()];
+            if (table == null) {
+                continue;
+            }
+            boolean shift = operation == ALUOperation.LEFT || operation == ALUOperation.RIGHT;
+            for (int i = 0; i < SPOT_CHECKS; i++) {
+                int a = random.nextInt(1 << width);
+                int b = random.nextInt(shift ? width : 1 << width);
+                if (table.get(index(operation, a, b)) != compute(operation, a, b, width)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Fills every table in parallel; each worker writes a disjoint range of entries
+    private void generate() {
+        for (ALUOperation operation : TABLE_OPERATIONS) {
+            IntBuffer buffer = tables[operation.ordinal()];
+            if (buffer == null) {
+                continue;
+            }
+            boolean shift = operation == ALUOperation.LEFT || operation == ALUOperation.RIGHT;
+            int operands = 1 << width;
+            IntStream.range(0, operands).parallel().forEach(a -> {
+                if (operation == ALUOperation.NOT) {
+                    buffer.put(a, compute(operation, a, 0, width));
+                } else if (shift) {
+                    for (int b = 0; b < width; b++) {
+                        buffer.put(a * width + b, compute(operation, a, b, width));
+                    }
+                } else {
+                    int base = a << width;
+                    for (int b = 0; b < operands; b++) {
+                        buffer.put(base | b, compute(operation, a, b, width));
+                    }
+                }
+            });
+        }
+    }
+
+    // --- Reference semantics ---
+
+    // a and b are width-bit patterns (b is a plain int for shifts). Arithmetic wraps to the
+    // width and reports overflow in the flags; error entries have a zero result.
+    static int compute(ALUOperation operation, int a, int b, int width) {
+        int mask = (1 << width) - 1;
+        int ua = a & mask;
+        int ub = b & mask;
+        int sa = (ua << (32 - width)) >> (32 - width);
+        int sb = (ub << (32 - width)) >> (32 - width);
+        long exact;   // Signed mathematical result, for overflow detection
+        int carry = 0;
+        switch (operation) {
+            case ADD:
+                exact = (long) sa + sb;
+                carry = ua + ub > mask ? FLAG_CARRY : 0;
+                break;
+            case SUBTRACT:
+                exact = (long) sa - sb;
+                carry = ua < ub ? FLAG_CARRY : 0;
+                break;
+            case MULTIPLY:
+                exact = (long) sa * sb;
+                carry = ((long) ua * ub) > mask ? FLAG_CARRY : 0;
+                break;
+            case DIVIDE:
+                if (sb == 0) {
+                    return FLAG_ERROR << FLAG_SHIFT;
+                }
+                exact = sa / sb;
+                break;
+            case MODULO:
+                if (sb == 0) {
+                    return FLAG_ERROR << FLAG_SHIFT;
+                }
+                exact = sa % sb;
+                break;
+            case AND:
+                exact = sa & sb;
+                break;
+            case OR:
+                exact = sa | sb;
+                break;
+            case NOT:
+                exact = ~sa;
+                break;
+            case LEFT:
+            case RIGHT:
+                if (b < 0 || b >= width) {
+                    return FLAG_ERROR << FLAG_SHIFT;
+                }
+                if (operation == ALUOperation.LEFT) {
+                    exact = (sa << b << (32 - width)) >> (32 - width); // Shifts never report overflow
+                    carry = b > 0 && (ua >>> (width - b) & 1) != 0 ? FLAG_CARRY : 0;
+                } else {
+                    exact = sa >> b;
+                    carry = b > 0 && (ua >>> (b - 1) & 1) != 0 ? FLAG_CARRY : 0;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(operation.getKey() + " has no " + width + "-bit lookup table");
+        }
+        int result = (int) exact & mask;
+        int signed = (result << (32 - width)) >> (32 - width);
+        int flags = carry;
+        if (signed != exact) {
+            flags |= FLAG_OVERFLOW;
+        }
+        if (result == 0) {
+            flags |= FLAG_ZERO;
+        }
+        if (signed < 0) {
+            flags |= FLAG_NEGATIVE;
+        }
+        return (flags << FLAG_SHIFT) | result;
+    }
+}
@@ -0,0 +1,144 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+// Times lookup table generation (fresh and from the mapped cache), checks the 8-bit
+// tables against 32-bit ALULogic, compares lookup with direct computation and times the
+// public ALULogic path at 8 bits against the same ops at 32 bits
+public class LookupTableBenchmark {
+
+    public static void run(int lookups) {
+        Path dir;
+        try {
+            dir = Files.createTempDirectory("alu-lut");
+        } catch (IOException e) {
+            System.out.println("Cannot create cache directory: " + e.getMessage());
+            return;
+        }
+        try {
+            for (int width : new int[]{8, 16}) {
+                Path file = dir.resolve("alu-lut-" + width + ".bin");
+                long start = System.nanoTime();
+                LookupTableALU generated = LookupTableALU.open(file, width, LookupTableALU.DEFAULT_MEMORY_BUDGET);
+                double generateMs = (System.nanoTime() - start) / 1e6;
+                start = System.nanoTime();
+                LookupTableALU.open(file, width, LookupTableALU.DEFAULT_MEMORY_BUDGET);
+                double mapMs = (System.nanoTime() - start) / 1e6;
+                StringBuilder tabled = new StringBuilder();
+                for (ALUOperation op : LookupTableALU.TABLE_OPERATIONS) {
+                    if (generated.hasTable(op)) {
+                        tabled.append(' ').append(op.getKey());
+                    }
+                }
+                System.out.printf("%2d-bit  generate %8.1f ms  map cached %6.1f ms  %,d bytes  tables:%s%n",
+                    width, generateMs, mapMs, Files.size(file), tabled);
+            }
+            System.out.println("8-bit mismatches against 32-bit ALULogic: " + verify8());
+            LookupTableALU lut = LookupTableALU.open(dir.resolve("alu-lut-8.bin"), 8, LookupTableALU.DEFAULT_MEMORY_BUDGET);
+            timeLookups(lut, lookups);
+        } catch (IOException e) {
+            System.out.println("Lookup table cache failed: " + e.getMessage());
+        } finally {
+            try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(dir);
+            } catch (IOException ignored) {
+                // Temporary files only
+            }
+        }
+    }
+
+    // Every 8-bit operand pair: the narrow ALU must fail exactly when the 32-bit result
+    // does not fit the word (or the 32-bit op fails), and agree otherwise
+    private static long verify8() {
+        ALULogic wide = new ALULogic();
+        ALULogic narrow = new ALULogic();
+        narrow.setWordWidth(8);
+        long mismatches = 0;
+        for (ALUOperation op : LookupTableALU.TABLE_OPERATIONS) {
+            for (int a = -128; a < 128; a++) {
+                for (int b = op == ALUOperation.LEFT || op == ALUOperation.RIGHT ? 0 : -128;
+                        b < (op == ALUOperation.LEFT || op == ALUOperation.RIGHT ? 8 : 128); b++) {
+                    Integer expected;
+                    try {
+                        int r = op.evaluate(wide, a, b);
+                        if (op == ALUOperation.LEFT) {
+                            r = (byte) r; // Shifts wrap to the word instead of overflowing
+                        }
+                        expected = r >= -128 && r < 128 ? r : null;
+                    } catch (ArithmeticException e) {
+                        expected = null;
+                    }
+                    Integer actual;
+                    try {
+                        actual = op.evaluate(narrow, a, b);
+                    } catch (ArithmeticException e) {
+                        actual = null;
+                    }
+                    if (expected == null ? actual != null : !expected.equals(actual)) {
+                        mismatches++;
+                    }
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    private static void timeLookups(LookupTableALU lut, int lookups) {
+        ALUOperation[] ops = {ALUOperation.MULTIPLY, ALUOperation.DIVIDE, ALUOperation.MODULO, ALUOperation.ADD};
+        int[] a = new int[4096];
+        int[] b = new int[4096];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextInt(256);
+            b[i] = random.nextInt(255) + 1;
+        }
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            int sink = 0;
+            for (int i = 0; i < lookups; i++) {
+                sink += lut.lookup(ops[i & 3], a[i & 4095], b[(i >>> 2) & 4095]);
+            }
+            double lookupNs = (System.nanoTime() - start) / (double) lookups;
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                sink += LookupTableALU.compute(ops[i & 3], a[i & 4095], b[(i >>> 2) & 4095], 8);
+            }
+            double computeNs = (System.nanoTime() - start) / (double) lookups;
+            System.out.printf("8-bit result+flags: lookup %.2f ns/op, compute %.2f ns/op (checksum %d)%n",
+                lookupNs, computeNs, sink);
+        }
+        // Same op mix through ALULogic, with operands small enough that no 8-bit op
+        // overflows, so neither width pays for exceptions
+        int[] smallA = new int[a.length];
+        int[] smallB = new int[b.length];
+        for (int i = 0; i < a.length; i++) {
+            smallA[i] = random.nextInt(23) - 11;
+            smallB[i] = random.nextInt(11) + 1;
+        }
+        ALULogic narrow = new ALULogic();
+        narrow.setWordWidth(8);
+        ALULogic wide = new ALULogic();
+        for (int round = 0; round < 3; round++) {
+            double narrowNs = timeAlu(narrow, ops, smallA, smallB, lookups);
+            double wideNs = timeAlu(wide, ops, smallA, smallB, lookups);
+            System.out.printf("ALULogic mixed ops: 8-bit %.2f ns/op, 32-bit %.2f ns/op%n", narrowNs, wideNs);
+        }
+    }
+
+    private static double timeAlu(ALULogic alu, ALUOperation[] ops, int[] a, int[] b, int lookups) {
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < lookups; i++) {
+            sink += ops[i & 3].evaluate(alu, a[i & 4095], b[(i >>> 2) & 4095]);
+        }
+        double ns = (System.nanoTime() - start) / (double) lookups;
+        if (sink == 42) {
+            System.out.print(""); // Keeps the results live
+        }
+        return ns;
+    }
+}
@@ -1,9 +1,20 @@
 public class Main {
+    static final long LAUNCH_NANOS = System.nanoTime();
+
     public static void main(String[] args) {
+        if (args.length > 0) {
+            // Headless path: keeps AWT/Swing out of the loaded class set
+            ALUCommandLine.run(args);
+            return;
+        }
+        launchGui();
+    }
+
+    static void launchGui() {
         // Launch the GUI using SwingUtilities to ensure thread safety
         javax.swing.SwingUtilities.invokeLater(() -> {
             ALUInterface aluInterface = new ALUInterface();
             aluInterface.setVisible(true);
         });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+import javax.swing.*;
+import java.awt.*;
+import java.math.BigInteger;
+import java.util.Iterator;
+import src.ModernUIUtils;
+
+// Pages through a MicroStepEngine trace. Only the visible page of steps is kept: paging
+// forward continues the live iterator, paging back replays the trace from the start.
+public class MicroStepDialog extends JDialog {
+    private static final long serialVersionUID = 1L;
+    private static final int STEPS_PER_PAGE = 32;
+    private static final Font TRACE_FONT = new Font("Consolas", Font.PLAIN, 12);
+
+    private final BigInteger a;
+    private final BigInteger b;
+    private final int width;
+    private final JComboBox<MicroStepEngine.Algorithm> algorithmSelector;
+    private final JTextArea traceArea;
+    private final JLabel pageLabel;
+    private final JLabel cyclesLabel;
+    private final JButton previousButton;
+    private final JButton nextButton;
+    private Iterator<MicroStepEngine.MicroStep> steps;
+    private int page; // Page currently shown; steps is positioned at its end
+
+    public MicroStepDialog(Frame owner, boolean division, BigInteger a, BigInteger b, int width) {
+        super(owner, (division ? "Division" : "Multiplication") + " micro-steps (" + width + "-bit)", false);
+        this.a = a;
+        this.b = b;
+        this.width = width;
+
+        algorithmSelector = new JComboBox<>();
+        for (MicroStepEngine.Algorithm algorithm : MicroStepEngine.Algorithm.values()) {
+            if (algorithm.isDivision() == division) {
+                algorithmSelector.addItem(algorithm);
+            }
+        }
+        algorithmSelector.addActionListener(e -> restart());
+
+        traceArea = new JTextArea(STEPS_PER_PAGE, 90);
+        traceArea.setEditable(false);
+        traceArea.setFont(TRACE_FONT);
+
+        previousButton = ModernUIUtils.createModernButton("Previous");
+        previousButton.addActionListener(e -> showPage(page - 1));
+        nextButton = ModernUIUtils.createModernButton("Next");
+        nextButton.addActionListener(e -> showPage(page + 1));
+        pageLabel = new JLabel();
+        cyclesLabel = new JLabel();
+
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        top.add(algorithmSelector);
+        top.add(cyclesLabel);
+        JPanel bottom = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        bottom.add(previousButton);
+        bottom.add(pageLabel);
+        bottom.add(nextButton);
+
+        setLayout(new BorderLayout());
+        add(top, BorderLayout.NORTH);
+        add(new JScrollPane(traceArea), BorderLayout.CENTER);
+        add(bottom, BorderLayout.SOUTH);
+        restart();
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private MicroStepEngine.Algorithm selectedAlgorithm() {
+        return (MicroStepEngine.Algorithm) algorithmSelector.getSelectedItem();
+    }
+
+    private void restart() {
+        MicroStepEngine.Algorithm algorithm = selectedAlgorithm();
+        int cycles = MicroStepEngine.cycleCount(algorithm, a, b, width);
+        cyclesLabel.setText("Cycles: " + cycles + " (nominal "
+            + MicroStepEngine.nominalCycleCount(algorithm, width) + ")");
+        steps = null;
+        showPage(0);
+    }
+
+    private void showPage(int target) {
+        if (target < 0) {
+            return;
+        }
+        if (steps == null || target <= page) {
+            steps = MicroStepEngine.iterator(selectedAlgorithm(), a, b, width);
+            skip((long) target * STEPS_PER_PAGE);
+        } else {
+            skip((long) (target - page - 1) * STEPS_PER_PAGE);
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < STEPS_PER_PAGE && steps.hasNext(); i++) {
+            text.append(steps.next()).append('\n');
+        }
+        page = target;
+        traceArea.setText(text.toString());
+        traceArea.setCaretPosition(0);
+        previousButton.setEnabled(page > 0);
+        nextButton.setEnabled(steps.hasNext());
+        pageLabel.setText("Page " + (page + 1));
+    }
+
+    private void skip(long count) {
+        for (long i = 0; i < count && steps.hasNext(); i++) {
+            steps.next();
+        }
+    }
+}
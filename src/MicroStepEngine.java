@@ -0,0 +1,305 @@
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Cycle-by-cycle traces of hardware multiply and divide algorithms. Steps are computed
+// one at a time by an iterator, so only the current register state is ever held in
+// memory, no matter how wide the datapath is.
+//
+// Multiplication uses sign-magnitude for SHIFT_ADD and two's complement for BOOTH_RADIX4.
+// Division works on magnitudes and fixes up signs in a final step, truncating toward zero
+// like ALULogic.divide.
+public final class MicroStepEngine {
+
+    public enum Algorithm {
+        SHIFT_ADD("Shift-add multiply", false),
+        BOOTH_RADIX4("Booth radix-4 multiply", false),
+        RESTORING("Restoring division", true),
+        NON_RESTORING("Non-restoring division", true);
+
+        private final String displayName;
+        private final boolean division;
+
+        Algorithm(String displayName, boolean division) {
+            this.displayName = displayName;
+            this.division = division;
+        }
+
+        public boolean isDivision() {
+            return division;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    // Register state after one cycle. For multiplication quotient is null; for division
+    // partialProduct is the value added to or subtracted from the remainder this cycle.
+    public static final class MicroStep {
+        private final int cycle;
+        private final String action;
+        private final BigInteger partialProduct;
+        private final BigInteger accumulator;
+        private final BigInteger quotient;
+
+        MicroStep(int cycle, String action, BigInteger partialProduct, BigInteger accumulator, BigInteger quotient) {
+            this.cycle = cycle;
+            this.action = action;
+            this.partialProduct = partialProduct;
+            this.accumulator = accumulator;
+            this.quotient = quotient;
+        }
+
+        public int getCycle() {
+            return cycle;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public BigInteger getPartialProduct() {
+            return partialProduct;
+        }
+
+        public BigInteger getAccumulator() {
+            return accumulator;
+        }
+
+        public BigInteger getQuotient() {
+            return quotient;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%5d  %-28s acc=%s", cycle, action, accumulator));
+            if (partialProduct != null) {
+                sb.append("  pp=").append(partialProduct);
+            }
+            if (quotient != null) {
+                sb.append("  q=").append(quotient.toString(2));
+            }
+            return sb.toString();
+        }
+    }
+
+    private MicroStepEngine() {
+    }
+
+    public static Iterator<MicroStep> iterator(Algorithm algorithm, BigInteger a, BigInteger b, int width) {
+        if (width < 2) {
+            throw new IllegalArgumentException("Width must be at least 2 bits");
+        }
+        checkFits(a, width);
+        checkFits(b, width);
+        if (algorithm.isDivision() && b.signum() == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        switch (algorithm) {
+            case SHIFT_ADD: return new ShiftAddMultiply(a, b, width);
+            case BOOTH_RADIX4: return new BoothRadix4Multiply(a, b, width);
+            case RESTORING: return new Division(a, b, width, true);
+            case NON_RESTORING: return new Division(a, b, width, false);
+            default: throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+    }
+
+    // Operands are signed width-bit words; anything wider would be silently truncated
+    private static void checkFits(BigInteger value, int width) {
+        if (value.bitLength() >= width) {
+            throw new IllegalArgumentException("Operand " + value + " does not fit in " + width + " bits");
+        }
+    }
+
+    public static Iterator<MicroStep> iterator(Algorithm algorithm, int a, int b) {
+        return iterator(algorithm, BigInteger.valueOf(a), BigInteger.valueOf(b), 32);
+    }
+
+    public static Stream<MicroStep> stream(Algorithm algorithm, BigInteger a, BigInteger b, int width) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(algorithm, a, b, width),
+            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    // Cycles the algorithm takes for these operands, counted by running the trace
+    // without keeping any steps
+    public static int cycleCount(Algorithm algorithm, BigInteger a, BigInteger b, int width) {
+        Iterator<MicroStep> steps = iterator(algorithm, a, b, width);
+        int cycles = 0;
+        while (steps.hasNext()) {
+            cycles = steps.next().getCycle();
+        }
+        return cycles;
+    }
+
+    // Data-independent cycle count: one per multiplier/dividend bit, one per Booth digit,
+    // plus the sign fix-up cycle. Restoring division adds a cycle for every restore and
+    // non-restoring division a final remainder correction, so those may take longer.
+    public static int nominalCycleCount(Algorithm algorithm, int width) {
+        switch (algorithm) {
+            case BOOTH_RADIX4: return (width + 1) / 2 + 1;
+            default: return width + 1;
+        }
+    }
+
+    // --- Algorithms ---
+
+    private abstract static class StepIterator implements Iterator<MicroStep> {
+        protected final int width;
+        protected int cycle;
+        protected boolean done;
+
+        StepIterator(int width) {
+            this.width = width;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !done;
+        }
+
+        @Override
+        public MicroStep next() {
+            if (done) {
+                throw new NoSuchElementException();
+            }
+            return step();
+        }
+
+        protected abstract MicroStep step();
+    }
+
+    // Examines one multiplier bit per cycle, adding the shifted multiplicand when it is set
+    private static final class ShiftAddMultiply extends StepIterator {
+        private final BigInteger multiplicand;
+        private final BigInteger multiplier;
+        private final boolean negative;
+        private BigInteger accumulator = BigInteger.ZERO;
+        private int bit;
+
+        ShiftAddMultiply(BigInteger a, BigInteger b, int width) {
+            super(width);
+            this.multiplicand = a.abs();
+            this.multiplier = b.abs();
+            this.negative = a.signum() * b.signum() < 0;
+        }
+
+        @Override
+        protected MicroStep step() {
+            cycle++;
+            if (bit < width) {
+                int current = bit++;
+                if (multiplier.testBit(current)) {
+                    BigInteger partial = multiplicand.shiftLeft(current);
+                    accumulator = accumulator.add(partial);
+                    return new MicroStep(cycle, "bit " + current + "=1: add M<<" + current, partial, accumulator, null);
+                }
+                return new MicroStep(cycle, "bit " + current + "=0: shift", BigInteger.ZERO, accumulator, null);
+            }
+            done = true;
+            if (negative) {
+                accumulator = accumulator.negate();
+            }
+            return new MicroStep(cycle, negative ? "apply sign: negate" : "apply sign: positive", null, accumulator, null);
+        }
+    }
+
+    // Recodes the multiplier into radix-4 digits in {-2..2}, one digit per cycle
+    private static final class BoothRadix4Multiply extends StepIterator {
+        private final BigInteger multiplicand;
+        private final BigInteger multiplier; // Two's complement pattern of width bits
+        private BigInteger accumulator = BigInteger.ZERO;
+        private int digit;
+
+        BoothRadix4Multiply(BigInteger a, BigInteger b, int width) {
+            super(width);
+            this.multiplicand = a;
+            this.multiplier = b;
+        }
+
+        @Override
+        protected MicroStep step() {
+            cycle++;
+            int digits = (width + 1) / 2;
+            if (digit < digits) {
+                int low = 2 * digit;
+                int b0 = low == 0 ? 0 : bit(low - 1);
+                int b1 = bit(low);
+                int b2 = bit(low + 1);
+                int value = -2 * b2 + b1 + b0;
+                BigInteger partial = multiplicand.multiply(BigInteger.valueOf(value)).shiftLeft(low);
+                accumulator = accumulator.add(partial);
+                digit++;
+                String action = "bits " + b2 + b1 + b0 + ": " + (value >= 0 ? "+" : "") + value + "M<<" + low;
+                return new MicroStep(cycle, action, partial, accumulator, null);
+            }
+            done = true;
+            return new MicroStep(cycle, "result", null, accumulator, null);
+        }
+
+        // Bits above the width repeat the sign bit
+        private int bit(int index) {
+            return multiplier.testBit(Math.min(index, width - 1)) ? 1 : 0;
+        }
+    }
+
+    private static final class Division extends StepIterator {
+        private final boolean restoring;
+        private final BigInteger dividend;
+        private final BigInteger divisor;
+        private final boolean negativeQuotient;
+        private final boolean negativeRemainder;
+        private BigInteger remainder = BigInteger.ZERO;
+        private BigInteger quotient = BigInteger.ZERO;
+        private int bit;
+        private boolean restorePending;
+        private boolean correctionDone;
+
+        Division(BigInteger a, BigInteger b, int width, boolean restoring) {
+            super(width);
+            this.restoring = restoring;
+            this.dividend = a.abs();
+            this.divisor = b.abs();
+            this.negativeQuotient = a.signum() * b.signum() < 0;
+            this.negativeRemainder = a.signum() < 0;
+            this.bit = width - 1;
+        }
+
+        @Override
+        protected MicroStep step() {
+            cycle++;
+            if (restorePending) {
+                // Restoring division spends an extra cycle adding the divisor back
+                restorePending = false;
+                remainder = remainder.add(divisor);
+                return new MicroStep(cycle, "negative: restore R+=D", divisor, remainder, quotient);
+            }
+            if (bit >= 0) {
+                int current = bit--;
+                BigInteger shifted = remainder.shiftLeft(1).or(dividend.testBit(current) ? BigInteger.ONE : BigInteger.ZERO);
+                boolean subtract = restoring || remainder.signum() >= 0;
+                remainder = subtract ? shifted.subtract(divisor) : shifted.add(divisor);
+                boolean bitSet = remainder.signum() >= 0;
+                quotient = quotient.shiftLeft(1).or(bitSet ? BigInteger.ONE : BigInteger.ZERO);
+                restorePending = restoring && !bitSet;
+                String action = "shift in bit " + current + ", " + (subtract ? "R-=D" : "R+=D") + ", q=" + (bitSet ? 1 : 0);
+                return new MicroStep(cycle, action, divisor, remainder, quotient);
+            }
+            if (!restoring && !correctionDone && remainder.signum() < 0) {
+                correctionDone = true;
+                remainder = remainder.add(divisor);
+                return new MicroStep(cycle, "correct remainder R+=D", divisor, remainder, quotient);
+            }
+            done = true;
+            BigInteger q = negativeQuotient ? quotient.negate() : quotient;
+            BigInteger r = negativeRemainder ? remainder.negate() : remainder;
+            return new MicroStep(cycle, "apply signs: q=" + q + " r=" + r, null, r, q);
+        }
+    }
+}
@@ -8,6 +8,12 @@ import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 public class ModernUIUtils {
 
@@ -30,12 +36,18 @@ public class ModernUIUtils {
     public static final int COMBO_BOX_RENDERER_PADDING_VERTICAL = 5;
     public static final int COMBO_BOX_RENDERER_PADDING_HORIZONTAL = 10;
 
+    // Kinds of cached shape, part of the RenderCache key
+    static final int SHAPE_BUTTON_BACKGROUND = 1;
+    static final int SHAPE_BORDER = 2;
+
 
     public static JPanel createRoundedPanel() {
         JPanel panel = new JPanel() {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g); // Important for proper painting of children if any
+                // Painted live: a panel-sized translucent image blits slower than the fill
+                // itself (see RenderCacheBenchmark), unlike the small cached shapes
                 Graphics2D g2 = (Graphics2D) g.create();
                 g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
                 g2.setColor(getBackground());
@@ -79,22 +91,28 @@ public class ModernUIUtils {
         JButton button = new JButton(text) {
             @Override
             protected void paintComponent(Graphics g) {
+                Color background = getBackground();
+                boolean focused = this.isFocusOwner();
+                RenderCache.paint(g, 0, 0, getWidth(), getHeight(),
+                        new RenderCache.Style(SHAPE_BUTTON_BACKGROUND, GENERAL_BORDER_RADIUS, background,
+                                FOCUS_HIGHLIGHT_COLOR, focused),
+                        (g2, w, h) -> {
+                            // Background
+                            g2.setColor(background);
+                            g2.fillRoundRect(0, 0, w - 1, h - 1, GENERAL_BORDER_RADIUS, GENERAL_BORDER_RADIUS);
+
+                            // Focus Indication
+                            if (focused) {
+                                g2.setColor(FOCUS_HIGHLIGHT_COLOR);
+                                g2.setStroke(new BasicStroke(2f)); // Make stroke slightly thicker for focus
+                                // Draw inset border for focus
+                                g2.drawRoundRect(2, 2, w - 5, h - 5, GENERAL_BORDER_RADIUS - 2, GENERAL_BORDER_RADIUS - 2);
+                            }
+                        });
+
+                // Text is drawn live since it is cheap and changes independently of the shape
                 Graphics2D g2 = (Graphics2D) g.create();
                 g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                // Background
-                g2.setColor(getBackground());
-                g2.fillRoundRect(0, 0, getWidth() - 1, getHeight() - 1, GENERAL_BORDER_RADIUS, GENERAL_BORDER_RADIUS);
-
-                // Focus Indication
-                if (this.isFocusOwner()) {
-                    g2.setColor(FOCUS_HIGHLIGHT_COLOR);
-                    g2.setStroke(new BasicStroke(2f)); // Make stroke slightly thicker for focus
-                    // Draw inset border for focus
-                    g2.drawRoundRect(2, 2, getWidth() - 5, getHeight() - 5, GENERAL_BORDER_RADIUS - 2, GENERAL_BORDER_RADIUS - 2);
-                }
-                
-                // Text
                 g2.setColor(getForeground());
                 FontMetrics fm = g2.getFontMetrics();
                 int x = (getWidth() - fm.stringWidth(getText())) / 2;
@@ -128,6 +146,11 @@ public class ModernUIUtils {
         return combo;
     }
 
+    // Drops every cached shape image; call after changing theme colours at runtime
+    public static void invalidateRenderCache() {
+        RenderCache.clear();
+    }
+
     // --- Inner helper classes for UI elements ---
     public static class RoundedBorder extends AbstractBorder {
         private final int radius;
@@ -142,31 +165,26 @@ public class ModernUIUtils {
 
         @Override
         public void paintBorder(Component c, Graphics g, int x, int y, int width, int height) {
-            Graphics2D g2 = (Graphics2D) g.create();
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            Stroke currentStroke;
-            if (c.isFocusOwner()) {
-                g2.setColor(focusBorderColor);
-                currentStroke = new BasicStroke(1.5f); // Slightly thicker or different stroke for focus
-            } else {
-                g2.setColor(defaultBorderColor);
-                currentStroke = new BasicStroke(1f);
-            }
-            g2.setStroke(currentStroke);
-            
-            // Ensure we are working with BasicStroke to get its width
-            float strokeWidth = 1f; // Default if not BasicStroke for some reason, though unlikely here
-            if (currentStroke instanceof BasicStroke) {
-                strokeWidth = ((BasicStroke) currentStroke).getLineWidth();
-            }
+            boolean focused = c.isFocusOwner();
+            RenderCache.paint(g, x, y, width, height,
+                    new RenderCache.Style(SHAPE_BORDER, radius, defaultBorderColor, focusBorderColor, focused),
+                    (g2, w, h) -> {
+                        Stroke currentStroke;
+                        if (focused) {
+                            g2.setColor(focusBorderColor);
+                            currentStroke = new BasicStroke(1.5f); // Slightly thicker or different stroke for focus
+                        } else {
+                            g2.setColor(defaultBorderColor);
+                            currentStroke = new BasicStroke(1f);
+                        }
+                        g2.setStroke(currentStroke);
 
-            // Adjust x,y,width,height for stroke not to be clipped
-            int offset = (int) (strokeWidth / 2);
-            g2.drawRoundRect(x + offset, y + offset, 
-                             width - (offset * 2) -1, height - (offset * 2) -1, // -1 for outer boundary of roundrect
-                             radius, radius);
-            g2.dispose();
+                        // Adjust width and height for stroke not to be clipped
+                        int offset = (int) (((BasicStroke) currentStroke).getLineWidth() / 2);
+                        g2.drawRoundRect(offset, offset,
+                                         w - (offset * 2) -1, h - (offset * 2) -1, // -1 for outer boundary of roundrect
+                                         radius, radius);
+                    });
         }
 
         @Override
@@ -236,4 +254,152 @@ public class ModernUIUtils {
             button.setBackground(originalColor);
         }
     }
-} 
\ No newline at end of file
+
+    // Caches small antialiased shapes (button backgrounds, borders) as device-resolution
+    // images so repaints become a single blit. Panel-sized shapes are not worth it: a
+    // large translucent blit costs more than filling the shape again. Entries are keyed by
+    // shape, size, colours, focus state and the HiDPI scale of the target Graphics, so a
+    // resize or focus change simply misses the cache and stale sizes age out in LRU order.
+    // A look-and-feel change clears everything.
+    static final class RenderCache {
+        private static final long MAX_CACHED_PIXELS = 4L * 1024 * 1024;
+
+        interface ShapePainter {
+            // Paints in logical coordinates; antialiasing and HiDPI scale are already set up
+            void paint(Graphics2D g2, int width, int height);
+        }
+
+        // What is painted; the cache key adds the size and scale it is painted at
+        static final class Style {
+            private final int shape;
+            private final int radius;
+            private final Color primary;
+            private final Color secondary;
+            private final boolean focused;
+
+            Style(int shape, int radius, Color primary, Color secondary, boolean focused) {
+                this.shape = shape;
+                this.radius = radius;
+                this.primary = primary;
+                this.secondary = secondary;
+                this.focused = focused;
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (!(o instanceof Style)) return false;
+                Style s = (Style) o;
+                return shape == s.shape && radius == s.radius && focused == s.focused
+                        && Objects.equals(primary, s.primary) && Objects.equals(secondary, s.secondary);
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hash(shape, radius, focused, primary, secondary);
+            }
+        }
+
+        private static final class Key {
+            private final Style style;
+            private final int width, height;
+            private final double scaleX, scaleY;
+
+            Key(Style style, int width, int height, double scaleX, double scaleY) {
+                this.style = style;
+                this.width = width;
+                this.height = height;
+                this.scaleX = scaleX;
+                this.scaleY = scaleY;
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (!(o instanceof Key)) return false;
+                Key k = (Key) o;
+                return width == k.width && height == k.height && scaleX == k.scaleX && scaleY == k.scaleY
+                        && style.equals(k.style);
+            }
+
+            @Override
+            public int hashCode() {
+                int h = 31 * style.hashCode() + width;
+                h = 31 * h + height;
+                return 31 * h + Double.hashCode(scaleX) * 17 + Double.hashCode(scaleY);
+            }
+        }
+
+        private static final Map<Key, BufferedImage> images = new LinkedHashMap<>(32, 0.75f, true);
+        private static long cachedPixels;
+
+        static {
+            UIManager.addPropertyChangeListener(e -> {
+                if ("lookAndFeel".equals(e.getPropertyName())) {
+                    clear();
+                }
+            });
+        }
+
+        static void paint(Graphics g, int x, int y, int width, int height, Style style, ShapePainter painter) {
+            if (width <= 0 || height <= 0) {
+                return;
+            }
+            Graphics2D g2 = (Graphics2D) g.create();
+            try {
+                AffineTransform transform = g2.getTransform();
+                int nonScaling = transform.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_MASK_SCALE);
+                if (nonScaling != 0 || transform.getScaleX() <= 0 || transform.getScaleY() <= 0) {
+                    // Rotated or flipped output (e.g. printing): paint directly
+                    g2.translate(x, y);
+                    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    painter.paint(g2, width, height);
+                    return;
+                }
+                Key key = new Key(style, width, height, transform.getScaleX(), transform.getScaleY());
+                BufferedImage image = lookup(key, g2.getDeviceConfiguration(), painter);
+
+                // Blit at device resolution so the image pixels map 1:1 onto the screen
+                g2.setTransform(AffineTransform.getTranslateInstance(
+                        Math.round(transform.getTranslateX() + x * key.scaleX),
+                        Math.round(transform.getTranslateY() + y * key.scaleY)));
+                g2.drawImage(image, 0, 0, null);
+            } finally {
+                g2.dispose();
+            }
+        }
+
+        static synchronized void clear() {
+            images.clear();
+            cachedPixels = 0;
+        }
+
+        private static synchronized BufferedImage lookup(Key key, GraphicsConfiguration config, ShapePainter painter) {
+            BufferedImage image = images.get(key);
+            if (image != null) {
+                return image;
+            }
+            int deviceWidth = (int) Math.ceil(key.width * key.scaleX);
+            int deviceHeight = (int) Math.ceil(key.height * key.scaleY);
+            image = config != null
+                    ? config.createCompatibleImage(deviceWidth, deviceHeight, Transparency.TRANSLUCENT)
+                    : new BufferedImage(deviceWidth, deviceHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2 = image.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.scale(key.scaleX, key.scaleY);
+            painter.paint(g2, key.width, key.height);
+            g2.dispose();
+
+            images.put(key, image);
+            cachedPixels += (long) deviceWidth * deviceHeight;
+            Iterator<BufferedImage> eldest = images.values().iterator();
+            while (cachedPixels > MAX_CACHED_PIXELS && eldest.hasNext()) {
+                BufferedImage evicted = eldest.next();
+                if (evicted == image) {
+                    break;
+                }
+                cachedPixels -= (long) evicted.getWidth() * evicted.getHeight();
+                eldest.remove();
+            }
+            return image;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package src;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+// Compares painting the ModernUIUtils shapes live with blitting them from RenderCache, on
+// an opaque software-rendered surface like a Swing back buffer. This is what decides which
+// shapes are cached: small ones pay off, panel-sized translucent images do not.
+public class RenderCacheBenchmark {
+    private static final int RADIUS = ModernUIUtils.GENERAL_BORDER_RADIUS;
+
+    public static void run(int iterations) {
+        BufferedImage surface = new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB);
+        Color panel = ModernUIUtils.DEFAULT_PANEL_BACKGROUND;
+        Color button = ModernUIUtils.APP_THEME_COLOR;
+        Color border = Color.LIGHT_GRAY;
+
+        ModernUIUtils.RenderCache.ShapePainter panelPainter = (g2, w, h) -> {
+            g2.setColor(panel);
+            g2.fillRoundRect(0, 0, w - 1, h - 1, RADIUS, RADIUS);
+        };
+        ModernUIUtils.RenderCache.ShapePainter buttonPainter = (g2, w, h) -> {
+            g2.setColor(button);
+            g2.fillRoundRect(0, 0, w - 1, h - 1, RADIUS, RADIUS);
+        };
+        ModernUIUtils.RenderCache.ShapePainter borderPainter = (g2, w, h) -> {
+            g2.setColor(border);
+            g2.setStroke(new BasicStroke(1f));
+            g2.drawRoundRect(0, 0, w - 1, h - 1, RADIUS, RADIUS);
+        };
+
+        // The panel style is only used here; panels themselves are painted live
+        report(surface, "panel 560x260", 560, 260,
+            new ModernUIUtils.RenderCache.Style(-1, RADIUS, panel, null, false),
+            panelPainter, iterations);
+        report(surface, "button 120x36", 120, 36,
+            new ModernUIUtils.RenderCache.Style(ModernUIUtils.SHAPE_BUTTON_BACKGROUND, RADIUS, button, null, false),
+            buttonPainter, iterations);
+        report(surface, "border 300x32", 300, 32,
+            new ModernUIUtils.RenderCache.Style(ModernUIUtils.SHAPE_BORDER, RADIUS, border, null, false),
+            borderPainter, iterations);
+    }
+
+    private static void report(BufferedImage surface, String name, int width, int height,
+                               ModernUIUtils.RenderCache.Style style, ModernUIUtils.RenderCache.ShapePainter painter,
+                               int iterations) {
+        double live = 0;
+        double cached = 0;
+        for (int round = 0; round < 3; round++) { // Last round counts, earlier ones warm up
+            live = time(surface, iterations, g -> {
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                painter.paint(g, width, height);
+            });
+            cached = time(surface, iterations,
+                g -> ModernUIUtils.RenderCache.paint(g, 0, 0, width, height, style, painter));
+        }
+        System.out.printf("%-14s live %8.1f us   cached %8.1f us%n", name, live, cached);
+    }
+
+    private interface Paint {
+        void paint(Graphics2D g);
+    }
+
+    private static double time(BufferedImage surface, int iterations, Paint paint) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            Graphics2D g = surface.createGraphics();
+            paint.paint(g);
+            g.dispose();
+        }
+        return (System.nanoTime() - start) / 1e3 / iterations;
+    }
+}
@@ -0,0 +1,234 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Byte-addressable RAM for load/store operations. Storage is off-heap in fixed-size pages,
+// allocated on first store; loads from untouched pages read zero. Written pages are
+// mappings of one sparse, already deleted temporary file rather than direct ByteBuffers,
+// so they count against neither the heap nor -XX:MaxDirectMemorySize (which defaults to
+// -Xmx), and memories of several gigabytes cost the heap only the page table. Running out
+// of address space or temp-file space throws IllegalArgumentException.
+//
+// Memory images can be mapped from disk with map(). Each page is then a slice of the file
+// mapping, so nothing is copied. PRIVATE mappings are copy-on-write, so stores never
+// reach the file: the image is opened read-only, and the first store to a page copies
+// that page off-heap. Read-only files such as shared firmware dumps can be mapped.
+//
+// Multi-byte accesses use the configured byte order (little-endian by default) and may
+// be unaligned, including across page boundaries. Addresses outside the memory throw
+// IllegalArgumentException. Not thread-safe.
+public class SimulatedMemory {
+    static final int PAGE_BITS = 24; // 16 MiB pages
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final long PAGE_MASK = PAGE_SIZE - 1;
+
+    private final long size;
+    private final ByteBuffer[] pages;
+    private ByteOrder order = ByteOrder.LITTLE_ENDIAN;
+    private boolean copyOnWrite;
+    private FileChannel backing; // Created on first store
+
+    public SimulatedMemory(long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Memory size must be positive");
+        }
+        long pageCount = (size + PAGE_SIZE - 1) >>> PAGE_BITS;
+        if (pageCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Memory size too large: " + size);
+        }
+        this.size = size;
+        this.pages = new ByteBuffer[(int) pageCount];
+    }
+
+    // Maps a memory image file; the memory is exactly as large as the file
+    public static SimulatedMemory map(Path image, FileChannel.MapMode mode) throws IOException {
+        // FileChannel.map needs a writable channel for PRIVATE mappings, so copy-on-write
+        // is done per page in writablePage() on top of a read-only mapping instead
+        boolean privateMapping = mode == FileChannel.MapMode.PRIVATE;
+        FileChannel.MapMode channelMode = privateMapping ? FileChannel.MapMode.READ_ONLY : mode;
+        StandardOpenOption[] options = channelMode == FileChannel.MapMode.READ_ONLY
+            ? new StandardOpenOption[]{StandardOpenOption.READ}
+            : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(image, options)) {
+            long length = channel.size();
+            if (length == 0) {
+                throw new IllegalArgumentException("Memory image is empty: " + image);
+            }
+            SimulatedMemory memory = new SimulatedMemory(length);
+            memory.copyOnWrite = privateMapping;
+            for (int i = 0; i < memory.pages.length; i++) {
+                long offset = (long) i << PAGE_BITS;
+                // A mapping stays valid after its channel is closed
+                MappedByteBuffer page = channel.map(channelMode, offset, Math.min(PAGE_SIZE, length - offset));
+                page.order(memory.order);
+                memory.pages[i] = page;
+            }
+            return memory;
+        }
+    }
+
+    public static SimulatedMemory map(Path image) throws IOException {
+        return map(image, FileChannel.MapMode.PRIVATE);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public ByteOrder getByteOrder() {
+        return order;
+    }
+
+    public void setByteOrder(ByteOrder order) {
+        this.order = order;
+        for (ByteBuffer page : pages) {
+            if (page != null) {
+                page.order(order);
+            }
+        }
+    }
+
+    // --- Loads ---
+
+    public int loadByte(long address) {
+        checkAddress(address, 1);
+        ByteBuffer page = pages[(int) (address >>> PAGE_BITS)];
+        return page == null ? 0 : page.get((int) (address & PAGE_MASK));
+    }
+
+    public int loadHalf(long address) {
+        checkAddress(address, 2);
+        if (crossesPage(address, 2)) {
+            return (short) loadSpanning(address, 2);
+        }
+        ByteBuffer page = pages[(int) (address >>> PAGE_BITS)];
+        return page == null ? 0 : page.getShort((int) (address & PAGE_MASK));
+    }
+
+    public int loadWord(long address) {
+        checkAddress(address, 4);
+        if (crossesPage(address, 4)) {
+            return (int) loadSpanning(address, 4);
+        }
+        ByteBuffer page = pages[(int) (address >>> PAGE_BITS)];
+        return page == null ? 0 : page.getInt((int) (address & PAGE_MASK));
+    }
+
+    public long loadLong(long address) {
+        checkAddress(address, 8);
+        if (crossesPage(address, 8)) {
+            return loadSpanning(address, 8);
+        }
+        ByteBuffer page = pages[(int) (address >>> PAGE_BITS)];
+        return page == null ? 0 : page.getLong((int) (address & PAGE_MASK));
+    }
+
+    // --- Stores ---
+
+    public void storeByte(long address, int value) {
+        checkAddress(address, 1);
+        writablePage(address).put((int) (address & PAGE_MASK), (byte) value);
+    }
+
+    public void storeHalf(long address, int value) {
+        checkAddress(address, 2);
+        if (!crossesPage(address, 2)) {
+            writablePage(address).putShort((int) (address & PAGE_MASK), (short) value);
+        } else {
+            storeSpanning(address, 2, value);
+        }
+    }
+
+    public void storeWord(long address, int value) {
+        checkAddress(address, 4);
+        if (!crossesPage(address, 4)) {
+            writablePage(address).putInt((int) (address & PAGE_MASK), value);
+        } else {
+            storeSpanning(address, 4, value);
+        }
+    }
+
+    public void storeLong(long address, long value) {
+        checkAddress(address, 8);
+        if (!crossesPage(address, 8)) {
+            writablePage(address).putLong((int) (address & PAGE_MASK), value);
+        } else {
+            storeSpanning(address, 8, value);
+        }
+    }
+
+    // --- Internals ---
+
+    private void checkAddress(long address, int length) {
+        if (address < 0 || address > size - length) {
+            throw new IllegalArgumentException(String.format(
+                "Address 0x%X out of range for %d-byte access (memory size %d)", address, length, size));
+        }
+    }
+
+    private static boolean crossesPage(long address, int length) {
+        return (address & PAGE_MASK) > PAGE_SIZE - length;
+    }
+
+    private ByteBuffer writablePage(long address) {
+        int index = (int) (address >>> PAGE_BITS);
+        ByteBuffer page = pages[index];
+        if (page == null) {
+            page = newPage(index);
+            pages[index] = page;
+        } else if (page.isReadOnly() && copyOnWrite) {
+            ByteBuffer source = page.duplicate();
+            source.clear();
+            page = newPage(index);
+            page.put(source).clear();
+            pages[index] = page;
+        } else if (page.isReadOnly()) {
+            throw new IllegalArgumentException(String.format("Address 0x%X is in a read-only memory image", address));
+        }
+        return page;
+    }
+
+    // Page index of the backing file, which is sparse, so only written pages take space
+    private ByteBuffer newPage(int index) {
+        long offset = (long) index << PAGE_BITS;
+        int length = (int) Math.min(PAGE_SIZE, size - offset);
+        try {
+            if (backing == null) {
+                Path file = Files.createTempFile("alu-memory", ".bin");
+                backing = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+                try {
+                    Files.deleteIfExists(file); // Unlinked while open where the platform allows it
+                } catch (IOException ignored) {
+                    // Removed on close instead
+                }
+            }
+            return backing.map(FileChannel.MapMode.READ_WRITE, offset, length).order(order);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Memory limit reached: cannot allocate page at 0x"
+                + Long.toHexString(offset) + " (" + e.getMessage() + ")");
+        }
+    }
+
+    private long loadSpanning(long address, int length) {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            long b = loadByte(address + i) & 0xFF;
+            int shift = order == ByteOrder.LITTLE_ENDIAN ? 8 * i : 8 * (length - 1 - i);
+            value |= b << shift;
+        }
+        return value;
+    }
+
+    private void storeSpanning(long address, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            int shift = order == ByteOrder.LITTLE_ENDIAN ? 8 * i : 8 * (length - 1 - i);
+            storeByte(address + i, (int) (value >>> shift));
+        }
+    }
+}
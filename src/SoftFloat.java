@@ -0,0 +1,471 @@
+import java.util.stream.IntStream;
+
+// IEEE-754 single and double precision arithmetic built from integer operations only.
+// Values are passed as raw bit patterns (Float.floatToRawIntBits / Double.doubleToRawLongBits).
+//
+// Internally every finite operand is unpacked to a sign, an unbiased exponent and a
+// significand whose leading one sits at bit 62, so the value is sig * 2^(exp - 62).
+// Bits below the format's fraction act as guard/round bits, with bit 0 used as a
+// sticky bit wherever bits are shifted out.
+public final class SoftFloat {
+
+    public static final int ROUND_NEAREST_EVEN = 0;
+    public static final int ROUND_TOWARD_ZERO = 1;
+    public static final int ROUND_UP = 2;           // Toward +infinity
+    public static final int ROUND_DOWN = 3;         // Toward -infinity
+    public static final int ROUND_NEAREST_AWAY = 4; // Ties away from zero
+
+    // compare() results; UNORDERED is returned when either operand is NaN
+    public static final int LESS = -1;
+    public static final int EQUAL = 0;
+    public static final int GREATER = 1;
+    public static final int UNORDERED = 2;
+
+    public enum Op { ADD, SUBTRACT, MULTIPLY, DIVIDE, COMPARE }
+
+    private static final int SINGLE_EXP_BITS = 8;
+    private static final int SINGLE_FRAC_BITS = 23;
+    private static final int DOUBLE_EXP_BITS = 11;
+    private static final int DOUBLE_FRAC_BITS = 52;
+
+    private static final int SIG_TOP = 62;
+    private static final int BATCH_CHUNK = 1 << 16;
+
+    private static final int SINGLE_DEFAULT_NAN = 0x7FC00000;
+    private static final long DOUBLE_DEFAULT_NAN = 0x7FF8000000000000L;
+
+    private SoftFloat() {
+    }
+
+    // --- Single precision ---
+
+    public static int add32(int a, int b, int roundingMode) {
+        return (int) add(a & 0xFFFFFFFFL, b & 0xFFFFFFFFL, SINGLE_EXP_BITS, SINGLE_FRAC_BITS, roundingMode);
+    }
+
+    public static int subtract32(int a, int b, int roundingMode) {
+        return (int) add(a & 0xFFFFFFFFL, (b ^ 0x80000000) & 0xFFFFFFFFL, SINGLE_EXP_BITS, SINGLE_FRAC_BITS, roundingMode);
+    }
+
+    public static int multiply32(int a, int b, int roundingMode) {
+        return (int) multiply(a & 0xFFFFFFFFL, b & 0xFFFFFFFFL, SINGLE_EXP_BITS, SINGLE_FRAC_BITS, roundingMode);
+    }
+
+    public static int divide32(int a, int b, int roundingMode) {
+        return (int) divide(a & 0xFFFFFFFFL, b & 0xFFFFFFFFL, SINGLE_EXP_BITS, SINGLE_FRAC_BITS, roundingMode);
+    }
+
+    public static int compare32(int a, int b) {
+        return compare(a & 0xFFFFFFFFL, b & 0xFFFFFFFFL, SINGLE_EXP_BITS, SINGLE_FRAC_BITS);
+    }
+
+    public static int apply32(Op op, int a, int b, int roundingMode) {
+        switch (op) {
+            case ADD: return add32(a, b, roundingMode);
+            case SUBTRACT: return subtract32(a, b, roundingMode);
+            case MULTIPLY: return multiply32(a, b, roundingMode);
+            case DIVIDE: return divide32(a, b, roundingMode);
+            case COMPARE: return compare32(a, b);
+            default: throw new IllegalArgumentException("Unsupported operation: " + op);
+        }
+    }
+
+    // --- Double precision ---
+
+    public static long add64(long a, long b, int roundingMode) {
+        return add(a, b, DOUBLE_EXP_BITS, DOUBLE_FRAC_BITS, roundingMode);
+    }
+
+    public static long subtract64(long a, long b, int roundingMode) {
+        return add(a, b ^ Long.MIN_VALUE, DOUBLE_EXP_BITS, DOUBLE_FRAC_BITS, roundingMode);
+    }
+
+    public static long multiply64(long a, long b, int roundingMode) {
+        return multiply(a, b, DOUBLE_EXP_BITS, DOUBLE_FRAC_BITS, roundingMode);
+    }
+
+    public static long divide64(long a, long b, int roundingMode) {
+        return divide(a, b, DOUBLE_EXP_BITS, DOUBLE_FRAC_BITS, roundingMode);
+    }
+
+    public static int compare64(long a, long b) {
+        return compare(a, b, DOUBLE_EXP_BITS, DOUBLE_FRAC_BITS);
+    }
+
+    public static long apply64(Op op, long a, long b, int roundingMode) {
+        switch (op) {
+            case ADD: return add64(a, b, roundingMode);
+            case SUBTRACT: return subtract64(a, b, roundingMode);
+            case MULTIPLY: return multiply64(a, b, roundingMode);
+            case DIVIDE: return divide64(a, b, roundingMode);
+            case COMPARE: return compare64(a, b);
+            default: throw new IllegalArgumentException("Unsupported operation: " + op);
+        }
+    }
+
+    // --- Batch mode ---
+
+    // Applies op element-wise; large batches are split into chunks and run on the common pool
+    public static void batch32(Op op, int[] a, int[] b, int[] out, int roundingMode) {
+        int n = out.length;
+        if (a.length < n || b.length < n) {
+            throw new IllegalArgumentException("Operand arrays are shorter than the output array");
+        }
+        int chunks = (n + BATCH_CHUNK - 1) / BATCH_CHUNK;
+        IntStream range = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            range = range.parallel();
+        }
+        range.forEach(c -> {
+            int end = Math.min(n, (c + 1) * BATCH_CHUNK);
+            for (int i = c * BATCH_CHUNK; i < end; i++) {
+                out[i] = apply32(op, a[i], b[i], roundingMode);
+            }
+        });
+    }
+
+    public static void batch64(Op op, long[] a, long[] b, long[] out, int roundingMode) {
+        int n = out.length;
+        if (a.length < n || b.length < n) {
+            throw new IllegalArgumentException("Operand arrays are shorter than the output array");
+        }
+        int chunks = (n + BATCH_CHUNK - 1) / BATCH_CHUNK;
+        IntStream range = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            range = range.parallel();
+        }
+        range.forEach(c -> {
+            int end = Math.min(n, (c + 1) * BATCH_CHUNK);
+            for (int i = c * BATCH_CHUNK; i < end; i++) {
+                out[i] = apply64(op, a[i], b[i], roundingMode);
+            }
+        });
+    }
+
+    // --- Formatting ---
+
+    // Sign, exponent and mantissa fields of a single precision value, e.g. "0 | 01111111 | 000..."
+    public static String toFieldString32(int bits) {
+        String binary = String.format("%32s", Integer.toBinaryString(bits)).replace(' ', '0');
+        return binary.substring(0, 1) + " | " + binary.substring(1, 9) + " | " + binary.substring(9);
+    }
+
+    public static String toFieldString64(long bits) {
+        String binary = String.format("%64s", Long.toBinaryString(bits)).replace(' ', '0');
+        return binary.substring(0, 1) + " | " + binary.substring(1, 12) + " | " + binary.substring(12);
+    }
+
+    // --- Core algorithms, shared by both formats ---
+
+    private static long add(long a, long b, int expBits, int fracBits, int rm) {
+        int signShift = expBits + fracBits;
+        long expMax = (1L << expBits) - 1;
+        long signA = a >>> signShift;
+        long signB = b >>> signShift;
+        long expFieldA = (a >>> fracBits) & expMax;
+        long expFieldB = (b >>> fracBits) & expMax;
+        long fracMask = (1L << fracBits) - 1;
+
+        if (expFieldA == expMax || expFieldB == expMax) {
+            if (isNaN(a, expBits, fracBits) || isNaN(b, expBits, fracBits)) {
+                return propagateNaN(a, b, expBits, fracBits);
+            }
+            if (expFieldA == expMax && expFieldB == expMax && signA != signB) {
+                return defaultNaN(expBits, fracBits); // inf - inf
+            }
+            return expFieldA == expMax ? a : b;
+        }
+        boolean zeroA = (a & ~(1L << signShift)) == 0;
+        boolean zeroB = (b & ~(1L << signShift)) == 0;
+        if (zeroA && zeroB) {
+            if (signA == signB) {
+                return a;
+            }
+            return rm == ROUND_DOWN ? 1L << signShift : 0L;
+        }
+        if (zeroA) return b;
+        if (zeroB) return a;
+
+        int bias = (int) (expMax >> 1);
+        int expA = unpackExponent(a, fracBits, expMax, bias);
+        int expB = unpackExponent(b, fracBits, expMax, bias);
+        long sigA = unpackSignificand(a, fracBits, fracMask, expFieldA);
+        long sigB = unpackSignificand(b, fracBits, fracMask, expFieldB);
+
+        // Order operands so that |A| >= |B|
+        if (expA < expB || (expA == expB && sigA < sigB)) {
+            int tmpExp = expA; expA = expB; expB = tmpExp;
+            long tmpSig = sigA; sigA = sigB; sigB = tmpSig;
+            long tmpSign = signA; signA = signB; signB = tmpSign;
+        }
+        sigB = shiftRightJam(sigB, expA - expB);
+
+        long sign = signA;
+        int exp = expA;
+        long sig;
+        if (signA == signB) {
+            sig = sigA + sigB;
+            if (sig < 0) { // Carried into bit 63
+                sig = (sig >>> 1) | (sig & 1);
+                exp++;
+            }
+        } else {
+            sig = sigA - sigB;
+            if (sig == 0) {
+                return rm == ROUND_DOWN ? 1L << signShift : 0L;
+            }
+            int shift = Long.numberOfLeadingZeros(sig) - 1;
+            sig <<= shift;
+            exp -= shift;
+        }
+        return roundPack(sign, exp, sig, expBits, fracBits, rm);
+    }
+
+    private static long multiply(long a, long b, int expBits, int fracBits, int rm) {
+        int signShift = expBits + fracBits;
+        long expMax = (1L << expBits) - 1;
+        long sign = (a >>> signShift) ^ (b >>> signShift);
+        long expFieldA = (a >>> fracBits) & expMax;
+        long expFieldB = (b >>> fracBits) & expMax;
+        long fracMask = (1L << fracBits) - 1;
+        boolean zeroA = (a & ~(1L << signShift)) == 0;
+        boolean zeroB = (b & ~(1L << signShift)) == 0;
+
+        if (expFieldA == expMax || expFieldB == expMax) {
+            if (isNaN(a, expBits, fracBits) || isNaN(b, expBits, fracBits)) {
+                return propagateNaN(a, b, expBits, fracBits);
+            }
+            if (zeroA || zeroB) {
+                return defaultNaN(expBits, fracBits); // inf * 0
+            }
+            return (sign << signShift) | (expMax << fracBits);
+        }
+        if (zeroA || zeroB) {
+            return sign << signShift;
+        }
+
+        int bias = (int) (expMax >> 1);
+        int expA = unpackExponent(a, fracBits, expMax, bias);
+        int expB = unpackExponent(b, fracBits, expMax, bias);
+        long sigA = unpackSignificand(a, fracBits, fracMask, expFieldA);
+        long sigB = unpackSignificand(b, fracBits, fracMask, expFieldB);
+
+        long sig;
+        int exp;
+        if (fracBits < 31) {
+            // Narrow significands: the exact product fits in a long
+            sig = (sigA >>> (SIG_TOP - fracBits)) * (sigB >>> (SIG_TOP - fracBits));
+            exp = expA + expB + SIG_TOP - 2 * fracBits;
+        } else {
+            long hi = Math.multiplyHigh(sigA, sigB);
+            long lo = sigA * sigB;
+            sig = (hi << 1) | (lo >>> 63) | ((lo << 1) != 0 ? 1 : 0);
+            exp = expA + expB + 1;
+        }
+        int shift = Long.numberOfLeadingZeros(sig) - 1;
+        sig <<= shift;
+        exp -= shift;
+        return roundPack(sign, exp, sig, expBits, fracBits, rm);
+    }
+
+    private static long divide(long a, long b, int expBits, int fracBits, int rm) {
+        int signShift = expBits + fracBits;
+        long expMax = (1L << expBits) - 1;
+        long sign = (a >>> signShift) ^ (b >>> signShift);
+        long expFieldA = (a >>> fracBits) & expMax;
+        long expFieldB = (b >>> fracBits) & expMax;
+        long fracMask = (1L << fracBits) - 1;
+        boolean zeroA = (a & ~(1L << signShift)) == 0;
+        boolean zeroB = (b & ~(1L << signShift)) == 0;
+
+        if (isNaN(a, expBits, fracBits) || isNaN(b, expBits, fracBits)) {
+            return propagateNaN(a, b, expBits, fracBits);
+        }
+        if (expFieldA == expMax) {
+            return expFieldB == expMax
+                ? defaultNaN(expBits, fracBits)              // inf / inf
+                : (sign << signShift) | (expMax << fracBits); // inf / x
+        }
+        if (expFieldB == expMax) {
+            return sign << signShift; // x / inf
+        }
+        if (zeroB) {
+            return zeroA
+                ? defaultNaN(expBits, fracBits)              // 0 / 0
+                : (sign << signShift) | (expMax << fracBits); // x / 0
+        }
+        if (zeroA) {
+            return sign << signShift;
+        }
+
+        int bias = (int) (expMax >> 1);
+        int expA = unpackExponent(a, fracBits, expMax, bias);
+        int expB = unpackExponent(b, fracBits, expMax, bias);
+        long sigA = unpackSignificand(a, fracBits, fracMask, expFieldA);
+        long sigB = unpackSignificand(b, fracBits, fracMask, expFieldB);
+
+        long sig;
+        int exp;
+        if (fracBits < 31) {
+            // Dividend shifted so the quotient keeps at least fracBits + 15 bits
+            long dividend = (sigA >>> (SIG_TOP - fracBits)) << (SIG_TOP - fracBits - 1);
+            long divisor = sigB >>> (SIG_TOP - fracBits);
+            long q = dividend / divisor;
+            sig = q | (dividend - q * divisor != 0 ? 1 : 0);
+            exp = expA - expB + fracBits + 1;
+        } else {
+            // 128-by-64 division of sigA * 2^62 by sigB; the high word is below the divisor
+            long q = divideUnsigned128(sigA >>> 2, sigA << SIG_TOP, sigB);
+            long rem = (sigA << SIG_TOP) - q * sigB;
+            sig = q | (rem != 0 ? 1 : 0);
+            exp = expA - expB;
+        }
+        int shift = Long.numberOfLeadingZeros(sig) - 1;
+        sig <<= shift;
+        exp -= shift;
+        return roundPack(sign, exp, sig, expBits, fracBits, rm);
+    }
+
+    private static int compare(long a, long b, int expBits, int fracBits) {
+        if (isNaN(a, expBits, fracBits) || isNaN(b, expBits, fracBits)) {
+            return UNORDERED;
+        }
+        int signShift = expBits + fracBits;
+        long magA = a & ~(1L << signShift);
+        long magB = b & ~(1L << signShift);
+        if (magA == 0 && magB == 0) {
+            return EQUAL; // +0 == -0
+        }
+        // Map sign-magnitude to a monotonically ordered signed integer
+        long keyA = (a >>> signShift) != 0 ? -magA : magA;
+        long keyB = (b >>> signShift) != 0 ? -magB : magB;
+        return keyA < keyB ? LESS : (keyA > keyB ? GREATER : EQUAL);
+    }
+
+    // sig has its leading one at bit 62 and the value is sig * 2^(exp - 62)
+    private static long roundPack(long sign, int exp, long sig, int expBits, int fracBits, int rm) {
+        long expMax = (1L << expBits) - 1;
+        int bias = (int) (expMax >> 1);
+        int signShift = expBits + fracBits;
+        int biasedExp = exp + bias;
+        if (biasedExp <= 0) {
+            // Subnormal: denormalize before rounding so the result is rounded only once
+            sig = shiftRightJam(sig, 1 - biasedExp);
+            biasedExp = 0;
+        }
+
+        int roundBits = SIG_TOP - fracBits;
+        long roundMask = (1L << roundBits) - 1;
+        long half = 1L << (roundBits - 1);
+        long rest = sig & roundMask;
+        sig >>>= roundBits;
+        boolean increment;
+        switch (rm) {
+            case ROUND_NEAREST_EVEN: increment = rest > half || (rest == half && (sig & 1) != 0); break;
+            case ROUND_TOWARD_ZERO: increment = false; break;
+            case ROUND_UP: increment = sign == 0 && rest != 0; break;
+            case ROUND_DOWN: increment = sign != 0 && rest != 0; break;
+            case ROUND_NEAREST_AWAY: increment = rest >= half; break;
+            default: throw new IllegalArgumentException("Unknown rounding mode: " + rm);
+        }
+        if (increment) {
+            sig++;
+        }
+
+        // For normal numbers sig still carries the implicit one, which lifts the exponent
+        // field by one; a rounding carry out of the significand lifts it once more
+        long packed = biasedExp == 0 ? sig : ((long) (biasedExp - 1) << fracBits) + sig;
+        if ((packed >>> fracBits) >= expMax) {
+            boolean toInfinity = rm == ROUND_NEAREST_EVEN || rm == ROUND_NEAREST_AWAY
+                || (rm == ROUND_UP && sign == 0) || (rm == ROUND_DOWN && sign != 0);
+            packed = toInfinity ? expMax << fracBits : (expMax << fracBits) - 1;
+        }
+        return (sign << signShift) | packed;
+    }
+
+    private static int unpackExponent(long bits, int fracBits, long expMax, int bias) {
+        long expField = (bits >>> fracBits) & expMax;
+        if (expField != 0) {
+            return (int) expField - bias;
+        }
+        // Subnormal: exponent of the leading fraction bit
+        long frac = bits & ((1L << fracBits) - 1);
+        int leading = 63 - Long.numberOfLeadingZeros(frac);
+        return 1 - bias - (fracBits - leading);
+    }
+
+    private static long unpackSignificand(long bits, int fracBits, long fracMask, long expField) {
+        long frac = bits & fracMask;
+        if (expField != 0) {
+            return (frac | (1L << fracBits)) << (SIG_TOP - fracBits);
+        }
+        return frac << (Long.numberOfLeadingZeros(frac) - 1);
+    }
+
+    // Knuth-style two-digit long division (Hacker's Delight divlu) with 32-bit digits.
+    // Requires high < divisor (unsigned) so the quotient fits in 64 bits.
+    private static long divideUnsigned128(long high, long low, long divisor) {
+        final long base = 1L << 32;
+        final long digitMask = base - 1;
+        int s = Long.numberOfLeadingZeros(divisor);
+        divisor <<= s;
+        long vn1 = divisor >>> 32;
+        long vn0 = divisor & digitMask;
+        long un32 = s == 0 ? high : (high << s) | (low >>> (64 - s));
+        long un10 = low << s;
+        long un1 = un10 >>> 32;
+        long un0 = un10 & digitMask;
+
+        long q1 = divideByDigit(un32, vn1);
+        long rhat = un32 - q1 * vn1;
+        while (q1 >= base || Long.compareUnsigned(q1 * vn0, (rhat << 32) + un1) > 0) {
+            q1--;
+            rhat += vn1;
+            if (rhat >= base) break;
+        }
+        long un21 = (un32 << 32) + un1 - q1 * divisor;
+
+        long q0 = divideByDigit(un21, vn1);
+        rhat = un21 - q0 * vn1;
+        while (q0 >= base || Long.compareUnsigned(q0 * vn0, (rhat << 32) + un0) > 0) {
+            q0--;
+            rhat += vn1;
+            if (rhat >= base) break;
+        }
+        return (q1 << 32) + q0;
+    }
+
+    // Unsigned dividend / 32-bit digit without Long.divideUnsigned's BigInteger slow path
+    private static long divideByDigit(long dividend, long digit) {
+        if (dividend >= 0) {
+            return dividend / digit;
+        }
+        long q = ((dividend >>> 1) / digit) << 1;
+        return Long.compareUnsigned(dividend - q * digit, digit) >= 0 ? q + 1 : q;
+    }
+
+    private static long shiftRightJam(long sig, int count) {
+        if (count == 0) {
+            return sig;
+        }
+        if (count >= 63) {
+            return sig != 0 ? 1 : 0;
+        }
+        return (sig >>> count) | ((sig & ((1L << count) - 1)) != 0 ? 1 : 0);
+    }
+
+    private static boolean isNaN(long bits, int expBits, int fracBits) {
+        long expMax = (1L << expBits) - 1;
+        return ((bits >>> fracBits) & expMax) == expMax && (bits & ((1L << fracBits) - 1)) != 0;
+    }
+
+    // Returns the first NaN operand with its quiet bit set
+    private static long propagateNaN(long a, long b, int expBits, int fracBits) {
+        long nan = isNaN(a, expBits, fracBits) ? a : b;
+        return nan | (1L << (fracBits - 1));
+    }
+
+    private static long defaultNaN(int expBits, int fracBits) {
+        return fracBits == SINGLE_FRAC_BITS ? SINGLE_DEFAULT_NAN : DOUBLE_DEFAULT_NAN;
+    }
+}
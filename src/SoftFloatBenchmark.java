@@ -0,0 +1,140 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+// Validates SoftFloat bit-exactly against the JVM's float/double arithmetic and measures
+// batch throughput. The JVM only rounds to nearest-even, so that is the mode checked.
+// All NaN results are treated as equal since NaN payload propagation is platform specific.
+public class SoftFloatBenchmark {
+
+    private static final int CHUNK = 1 << 16;
+    private static final int MAX_REPORTED_MISMATCHES = 10;
+
+    public static void run(int count) {
+        int[] a32 = new int[count];
+        int[] b32 = new int[count];
+        long[] a64 = new long[count];
+        long[] b64 = new long[count];
+        fillOperands(a32, b32, a64, b64, 0x5EEDL);
+
+        long mismatches = verify(a32, b32, a64, b64);
+        System.out.println("Verified " + count + " operand pairs per op against the JVM: "
+            + (mismatches == 0 ? "bit-exact" : mismatches + " mismatches"));
+
+        int[] out32 = new int[count];
+        long[] out64 = new long[count];
+        for (SoftFloat.Op op : SoftFloat.Op.values()) {
+            SoftFloat.batch32(op, a32, b32, out32, SoftFloat.ROUND_NEAREST_EVEN); // Warm-up
+            long start = System.nanoTime();
+            SoftFloat.batch32(op, a32, b32, out32, SoftFloat.ROUND_NEAREST_EVEN);
+            long single = System.nanoTime() - start;
+
+            SoftFloat.batch64(op, a64, b64, out64, SoftFloat.ROUND_NEAREST_EVEN);
+            start = System.nanoTime();
+            SoftFloat.batch64(op, a64, b64, out64, SoftFloat.ROUND_NEAREST_EVEN);
+            long dbl = System.nanoTime() - start;
+
+            System.out.printf("%-8s single %8.1f Mops/s   double %8.1f Mops/s%n",
+                op, count * 1000.0 / single, count * 1000.0 / dbl);
+        }
+        if (mismatches != 0) {
+            System.exit(1);
+        }
+    }
+
+    private static long verify(int[] a32, int[] b32, long[] a64, long[] b64) {
+        AtomicLong mismatches = new AtomicLong();
+        int n = a32.length;
+        IntStream.range(0, (n + CHUNK - 1) / CHUNK).parallel().forEach(c -> {
+            int end = Math.min(n, (c + 1) * CHUNK);
+            for (int i = c * CHUNK; i < end; i++) {
+                checkSingle(a32[i], b32[i], mismatches);
+                checkDouble(a64[i], b64[i], mismatches);
+            }
+        });
+        return mismatches.get();
+    }
+
+    private static void checkSingle(int a, int b, AtomicLong mismatches) {
+        float x = Float.intBitsToFloat(a);
+        float y = Float.intBitsToFloat(b);
+        int rm = SoftFloat.ROUND_NEAREST_EVEN;
+        expect32("ADD", a, b, SoftFloat.add32(a, b, rm), Float.floatToRawIntBits(x + y), mismatches);
+        expect32("SUBTRACT", a, b, SoftFloat.subtract32(a, b, rm), Float.floatToRawIntBits(x - y), mismatches);
+        expect32("MULTIPLY", a, b, SoftFloat.multiply32(a, b, rm), Float.floatToRawIntBits(x * y), mismatches);
+        expect32("DIVIDE", a, b, SoftFloat.divide32(a, b, rm), Float.floatToRawIntBits(x / y), mismatches);
+        int expected = x < y ? SoftFloat.LESS : x > y ? SoftFloat.GREATER : x == y ? SoftFloat.EQUAL : SoftFloat.UNORDERED;
+        if (SoftFloat.compare32(a, b) != expected) {
+            report("COMPARE", Integer.toHexString(a), Integer.toHexString(b),
+                Integer.toString(SoftFloat.compare32(a, b)), Integer.toString(expected), mismatches);
+        }
+    }
+
+    private static void checkDouble(long a, long b, AtomicLong mismatches) {
+        double x = Double.longBitsToDouble(a);
+        double y = Double.longBitsToDouble(b);
+        int rm = SoftFloat.ROUND_NEAREST_EVEN;
+        expect64("ADD", a, b, SoftFloat.add64(a, b, rm), Double.doubleToRawLongBits(x + y), mismatches);
+        expect64("SUBTRACT", a, b, SoftFloat.subtract64(a, b, rm), Double.doubleToRawLongBits(x - y), mismatches);
+        expect64("MULTIPLY", a, b, SoftFloat.multiply64(a, b, rm), Double.doubleToRawLongBits(x * y), mismatches);
+        expect64("DIVIDE", a, b, SoftFloat.divide64(a, b, rm), Double.doubleToRawLongBits(x / y), mismatches);
+        int expected = x < y ? SoftFloat.LESS : x > y ? SoftFloat.GREATER : x == y ? SoftFloat.EQUAL : SoftFloat.UNORDERED;
+        if (SoftFloat.compare64(a, b) != expected) {
+            report("COMPARE", Long.toHexString(a), Long.toHexString(b),
+                Integer.toString(SoftFloat.compare64(a, b)), Integer.toString(expected), mismatches);
+        }
+    }
+
+    private static void expect32(String op, int a, int b, int actual, int expected, AtomicLong mismatches) {
+        if (actual != expected && !(Float.isNaN(Float.intBitsToFloat(actual)) && Float.isNaN(Float.intBitsToFloat(expected)))) {
+            report(op + " (single)", Integer.toHexString(a), Integer.toHexString(b),
+                Integer.toHexString(actual), Integer.toHexString(expected), mismatches);
+        }
+    }
+
+    private static void expect64(String op, long a, long b, long actual, long expected, AtomicLong mismatches) {
+        if (actual != expected && !(Double.isNaN(Double.longBitsToDouble(actual)) && Double.isNaN(Double.longBitsToDouble(expected)))) {
+            report(op + " (double)", Long.toHexString(a), Long.toHexString(b),
+                Long.toHexString(actual), Long.toHexString(expected), mismatches);
+        }
+    }
+
+    private static void report(String op, String a, String b, String actual, String expected, AtomicLong mismatches) {
+        if (mismatches.incrementAndGet() <= MAX_REPORTED_MISMATCHES) {
+            System.out.println("Mismatch " + op + ": a=" + a + " b=" + b + " got=" + actual + " expected=" + expected);
+        }
+    }
+
+    // Mixes uniformly random bit patterns with close-exponent pairs (cancellation),
+    // subnormals and special values so every rounding path is exercised
+    private static void fillOperands(int[] a32, int[] b32, long[] a64, long[] b64, long seed) {
+        int[] special32 = {0, 0x80000000, 0x7F800000, 0xFF800000, 0x7FC00000, 1, 0x807FFFFF, 0x7F7FFFFF, 0x00800000, 0x3F800000};
+        long[] special64 = {0L, Long.MIN_VALUE, 0x7FF0000000000000L, 0xFFF0000000000000L, 0x7FF8000000000000L,
+            1L, 0x800FFFFFFFFFFFFFL, 0x7FEFFFFFFFFFFFFFL, 0x0010000000000000L, 0x3FF0000000000000L};
+        int n = a32.length;
+        IntStream.range(0, (n + CHUNK - 1) / CHUNK).parallel().forEach(c -> {
+            SplittableRandom random = new SplittableRandom(seed + c);
+            int end = Math.min(n, (c + 1) * CHUNK);
+            for (int i = c * CHUNK; i < end; i++) {
+                int kind = random.nextInt(8);
+                a32[i] = random.nextInt();
+                a64[i] = random.nextLong();
+                if (kind < 3) {
+                    b32[i] = random.nextInt();
+                    b64[i] = random.nextLong();
+                } else if (kind < 6) {
+                    b32[i] = a32[i] ^ (random.nextInt() >>> random.nextInt(32)) ^ (random.nextInt(2) << 31);
+                    b64[i] = a64[i] ^ (random.nextLong() >>> random.nextInt(64)) ^ ((long) random.nextInt(2) << 63);
+                } else if (kind == 6) {
+                    a32[i] &= 0x807FFFFF; // Subnormal
+                    a64[i] &= 0x800FFFFFFFFFFFFFL;
+                    b32[i] = random.nextInt() & 0xBFFFFFFF;
+                    b64[i] = random.nextLong() & 0xBFFFFFFFFFFFFFFFL;
+                } else {
+                    b32[i] = special32[random.nextInt(special32.length)];
+                    b64[i] = special64[random.nextInt(special64.length)];
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,44 @@
+import java.lang.management.ManagementFactory;
+
+// Measures time-to-first-result for the CLI and GUI launch paths. The JVM start time is
+// only queried after the result exists, so java.management loading is not counted.
+public class StartupBenchmark {
+
+    public static void runCli() {
+        ALULogic alu = new ALULogic();
+        int result = alu.multiply(6, 7);
+        String binary = alu.getBinaryResult();
+        long resultNanos = System.nanoTime();
+        long resultMillis = System.currentTimeMillis();
+        report("cli", result + " (" + binary + ")", resultNanos, resultMillis);
+    }
+
+    public static void runGui() {
+        try {
+            javax.swing.SwingUtilities.invokeAndWait(() -> {
+                ALUInterface aluInterface = new ALUInterface();
+                aluInterface.setVisible(true);
+                String shown = aluInterface.calculateAndPaint("6", "7", "MULTIPLY");
+                long resultNanos = System.nanoTime();
+                long resultMillis = System.currentTimeMillis();
+                report("gui", shown, resultNanos, resultMillis);
+                aluInterface.dispose();
+            });
+        } catch (java.lang.reflect.InvocationTargetException e) {
+            System.err.println("GUI startup benchmark failed: " + e.getCause());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            System.err.println("GUI startup benchmark interrupted");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static void report(String mode, String shown, long resultNanos, long resultMillis) {
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println("mode=" + mode);
+        System.out.println("result=" + shown);
+        System.out.println("sinceJvmStartMs=" + (resultMillis - jvmStart));
+        System.out.printf("sinceMainMs=%.2f%n", (resultNanos - Main.LAUNCH_NANOS) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,600 @@
+import java.math.BigInteger;
+
+// Arbitrary-width ALU over two's complement values stored as little-endian int[] limbs
+// (limb 0 holds the lowest 32 bits). Mirrors the ALULogic op set and its error behaviour:
+// signed add/subtract/multiply overflow and division by zero throw ArithmeticException,
+// shift amounts outside 0..width-1 throw IllegalArgumentException.
+//
+// Operations write into a caller-supplied destination, which may alias either operand.
+// If an ArithmeticException is thrown the destination content is unspecified. All scratch
+// space is allocated once per instance, so an instance must not be shared across threads.
+public class WideALU {
+    public static final int[] SUPPORTED_WIDTHS = {128, 256, 4096};
+
+    // Below this many limbs schoolbook multiplication is faster than Karatsuba
+    static final int KARATSUBA_THRESHOLD = 32;
+    private static final long LIMB_MASK = 0xFFFFFFFFL;
+    private static final int DECIMAL_CHUNK = 1_000_000_000;
+
+    private final int width;
+    private final int limbs;
+
+    private final int[] magnitudeA;
+    private final int[] magnitudeB;
+    private final int[] product;
+    private final int[] quotient;
+    private final int[] remainder;
+    private final int[] normalizedDividend;
+    private final int[] normalizedDivisor;
+    private final int[] karatsubaScratch;
+
+    public WideALU(int width) {
+        if (width < 64 || width % 32 != 0) {
+            throw new IllegalArgumentException("Width must be a multiple of 32 bits and at least 64: " + width);
+        }
+        this.width = width;
+        this.limbs = width / 32;
+        magnitudeA = new int[limbs];
+        magnitudeB = new int[limbs];
+        product = new int[2 * limbs];
+        quotient = new int[limbs];
+        remainder = new int[limbs];
+        normalizedDividend = new int[limbs + 1];
+        normalizedDivisor = new int[limbs];
+        int scratch = 0;
+        for (int n = KARATSUBA_THRESHOLD; n <= limbs; n++) {
+            scratch = Math.max(scratch, karatsubaScratchSize(n));
+        }
+        karatsubaScratch = new int[scratch];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int[] newValue() {
+        return new int[limbs];
+    }
+
+    // Dispatches the integer part of the ALUOperation set
+    public void apply(ALUOperation operation, int[] a, int[] b, int[] dst) {
+        switch (operation) {
+            case ADD: add(a, b, dst); break;
+            case SUBTRACT: subtract(a, b, dst); break;
+            case MULTIPLY: multiply(a, b, dst); break;
+            case DIVIDE: divide(a, b, dst); break;
+            case MODULO: modulo(a, b, dst); break;
+            case LEFT: leftShift(a, shiftAmount(b), dst); break;
+            case RIGHT: rightShift(a, shiftAmount(b), dst); break;
+            case AND: and(a, b, dst); break;
+            case OR: or(a, b, dst); break;
+            case NOT: not(a, dst); break;
+            default:
+                throw new IllegalArgumentException(operation.getKey() + " is not supported for " + width + "-bit values");
+        }
+    }
+
+    // Arithmetic Operations
+    public void add(int[] a, int[] b, int[] dst) {
+        boolean negA = isNegative(a);
+        boolean negB = isNegative(b);
+        long carry = 0;
+        for (int i = 0; i < limbs; i++) {
+            long sum = (a[i] & LIMB_MASK) + (b[i] & LIMB_MASK) + carry;
+            dst[i] = (int) sum;
+            carry = sum >>> 32;
+        }
+        if (negA == negB && isNegative(dst) != negA) {
+            throw new ArithmeticException("Addition overflow");
+        }
+    }
+
+    public void subtract(int[] a, int[] b, int[] dst) {
+        boolean negA = isNegative(a);
+        boolean negB = isNegative(b);
+        long borrow = 0;
+        for (int i = 0; i < limbs; i++) {
+            long diff = (a[i] & LIMB_MASK) - (b[i] & LIMB_MASK) - borrow;
+            dst[i] = (int) diff;
+            borrow = diff < 0 ? 1 : 0;
+        }
+        if (negA != negB && isNegative(dst) != negA) {
+            throw new ArithmeticException("Subtraction overflow");
+        }
+    }
+
+    public void multiply(int[] a, int[] b, int[] dst) {
+        boolean negative = isNegative(a) != isNegative(b);
+        abs(a, magnitudeA);
+        abs(b, magnitudeB);
+        multiplyMagnitudes(magnitudeA, magnitudeB, product);
+        for (int i = limbs; i < 2 * limbs; i++) {
+            if (product[i] != 0) {
+                throw new ArithmeticException("Multiplication overflow");
+            }
+        }
+        // The low half must fit the signed range: only -2^(width-1) may use the top bit
+        if (product[limbs - 1] < 0 && !(negative && isMinValueMagnitude(product))) {
+            throw new ArithmeticException("Multiplication overflow");
+        }
+        System.arraycopy(product, 0, dst, 0, limbs);
+        if (negative) {
+            negate(dst);
+        }
+    }
+
+    public void divide(int[] a, int[] b, int[] dst) {
+        if (isZero(b)) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (isMinValue(a) && isMinusOne(b)) {
+            throw new ArithmeticException("Division overflow");
+        }
+        boolean negative = isNegative(a) != isNegative(b);
+        abs(a, magnitudeA);
+        abs(b, magnitudeB);
+        divideMagnitudes(magnitudeA, magnitudeB, quotient, remainder);
+        System.arraycopy(quotient, 0, dst, 0, limbs);
+        if (negative) {
+            negate(dst);
+        }
+    }
+
+    public void modulo(int[] a, int[] b, int[] dst) {
+        if (isZero(b)) {
+            throw new ArithmeticException("Modulo by zero");
+        }
+        boolean negative = isNegative(a); // Remainder takes the dividend's sign, as with Java %
+        abs(a, magnitudeA);
+        abs(b, magnitudeB);
+        divideMagnitudes(magnitudeA, magnitudeB, quotient, remainder);
+        System.arraycopy(remainder, 0, dst, 0, limbs);
+        if (negative) {
+            negate(dst);
+        }
+    }
+
+    // Logical Operations
+    public void and(int[] a, int[] b, int[] dst) {
+        for (int i = 0; i < limbs; i++) {
+            dst[i] = a[i] & b[i];
+        }
+    }
+
+    public void or(int[] a, int[] b, int[] dst) {
+        for (int i = 0; i < limbs; i++) {
+            dst[i] = a[i] | b[i];
+        }
+    }
+
+    public void not(int[] a, int[] dst) {
+        for (int i = 0; i < limbs; i++) {
+            dst[i] = ~a[i];
+        }
+    }
+
+    public void leftShift(int[] a, int amount, int[] dst) {
+        checkShift(amount);
+        int limbShift = amount >>> 5;
+        int bitShift = amount & 31;
+        // High to low, so an aliased source limb is read before it is overwritten
+        for (int i = limbs - 1; i >= 0; i--) {
+            int src = i - limbShift;
+            int hi = src >= 0 ? a[src] : 0;
+            int lo = src >= 1 ? a[src - 1] : 0;
+            dst[i] = bitShift == 0 ? hi : (hi << bitShift) | (lo >>> (32 - bitShift));
+        }
+    }
+
+    // Arithmetic (sign-extending) shift, like >>
+    public void rightShift(int[] a, int amount, int[] dst) {
+        checkShift(amount);
+        int limbShift = amount >>> 5;
+        int bitShift = amount & 31;
+        int fill = isNegative(a) ? -1 : 0;
+        for (int i = 0; i < limbs; i++) {
+            int src = i + limbShift;
+            int lo = src < limbs ? a[src] : fill;
+            int hi = src + 1 < limbs ? a[src + 1] : fill;
+            dst[i] = bitShift == 0 ? lo : (lo >>> bitShift) | (hi << (32 - bitShift));
+        }
+    }
+
+    // Shift amount held in a wide value, or -1 when it does not fit in an int
+    public int shiftAmount(int[] value) {
+        for (int i = 1; i < limbs; i++) {
+            if (value[i] != 0) {
+                return -1;
+            }
+        }
+        return value[0] < 0 ? -1 : value[0];
+    }
+
+    // Input validation and base conversion
+    public boolean isValidInput(String input, String base) {
+        try {
+            parse(input, base);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // Decimal input must fit the signed range. Binary and hexadecimal input may also be a
+    // raw bit pattern of up to width bits, so every value can be entered.
+    public int[] parse(String input, String base) {
+        if (input == null || input.trim().isEmpty()) {
+            throw new NumberFormatException("Empty input");
+        }
+        String text = input.trim();
+        boolean negative = text.startsWith("-");
+        if (negative || text.startsWith("+")) {
+            text = text.substring(1);
+        }
+        int radix = "Binary".equals(base) ? 2 : "Hexadecimal".equals(base) ? 16 : 10;
+        if (text.isEmpty()) {
+            throw new NumberFormatException("No digits in \"" + input + "\"");
+        }
+        int[] value = new int[limbs];
+        for (int i = 0; i < text.length(); i++) {
+            int digit = Character.digit(text.charAt(i), radix);
+            if (digit < 0) {
+                throw new NumberFormatException("Invalid digit '" + text.charAt(i) + "' in \"" + input + "\"");
+            }
+            if (multiplyAddSmall(value, radix, digit) != 0) {
+                throw new NumberFormatException("Value out of range for " + width + "-bit: " + input);
+            }
+        }
+        if (isNegative(value) && (negative || radix == 10) && !(negative && isMinValueMagnitude(value))) {
+            throw new NumberFormatException("Value out of range for " + width + "-bit: " + input);
+        }
+        if (negative) {
+            negate(value);
+        }
+        return value;
+    }
+
+    // Signed value of a limb array, for callers that need exact arithmetic outside the datapath
+    public static BigInteger toBigInteger(int[] value) {
+        BigInteger result = BigInteger.ZERO;
+        for (int i = value.length - 1; i >= 0; i--) {
+            result = result.shiftLeft(32).or(BigInteger.valueOf(value[i] & LIMB_MASK));
+        }
+        return value[value.length - 1] < 0 ? result.subtract(BigInteger.ONE.shiftLeft(32 * value.length)) : result;
+    }
+
+    public String toString(int[] value, String base) {
+        if ("Binary".equals(base)) {
+            return toBinaryString(value).replace(" ", "");
+        } else if ("Hexadecimal".equals(base)) {
+            return toHexString(value);
+        }
+        return toDecimalString(value);
+    }
+
+    // All width bits, grouped in bytes like ALULogic.getBinaryResult()
+    public String toBinaryString(int[] value) {
+        StringBuilder sb = new StringBuilder(width + width / 8);
+        for (int bit = width - 1; bit >= 0; bit--) {
+            sb.append((value[bit >>> 5] >>> (bit & 31) & 1) == 0 ? '0' : '1');
+            if (bit % 8 == 0 && bit != 0) {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+
+    public String toHexString(int[] value) {
+        StringBuilder sb = new StringBuilder(2 + limbs * 8).append("0x");
+        for (int i = limbs - 1; i >= 0; i--) {
+            sb.append(String.format("%08X", value[i]));
+        }
+        return sb.toString();
+    }
+
+    public String toDecimalString(int[] value) {
+        int[] magnitude = new int[limbs];
+        abs(value, magnitude);
+        if (isZero(magnitude)) {
+            return "0";
+        }
+        StringBuilder sb = new StringBuilder();
+        while (!isZero(magnitude)) {
+            long rem = 0;
+            for (int i = limbs - 1; i >= 0; i--) {
+                long cur = (rem << 32) | (magnitude[i] & LIMB_MASK);
+                magnitude[i] = (int) (cur / DECIMAL_CHUNK);
+                rem = cur % DECIMAL_CHUNK;
+            }
+            String chunk = Long.toString(rem);
+            sb.insert(0, chunk);
+            if (!isZero(magnitude)) {
+                for (int pad = chunk.length(); pad < 9; pad++) {
+                    sb.insert(0, '0');
+                }
+            }
+        }
+        if (isNegative(value)) {
+            sb.insert(0, '-');
+        }
+        return sb.toString();
+    }
+
+    // --- Magnitude arithmetic ---
+
+    private void multiplyMagnitudes(int[] x, int[] y, int[] z) {
+        int xLength = effectiveLength(x);
+        int yLength = effectiveLength(y);
+        java.util.Arrays.fill(z, 0);
+        if (xLength == 0 || yLength == 0) {
+            return;
+        }
+        if (xLength < KARATSUBA_THRESHOLD || yLength < KARATSUBA_THRESHOLD) {
+            multiplySchoolbook(x, 0, xLength, y, 0, yLength, z, 0);
+        } else {
+            // Both operands are zero-padded to a common length; the scratch covers n == limbs
+            int n = Math.max(xLength, yLength);
+            karatsuba(x, 0, y, 0, n, z, 0, karatsubaScratch, 0);
+        }
+    }
+
+    // z[zOff, zOff + xLength + yLength) = x * y
+    private static void multiplySchoolbook(int[] x, int xOff, int xLength, int[] y, int yOff, int yLength,
+                                           int[] z, int zOff) {
+        java.util.Arrays.fill(z, zOff, zOff + xLength + yLength, 0);
+        for (int i = 0; i < xLength; i++) {
+            long xi = x[xOff + i] & LIMB_MASK;
+            if (xi == 0) {
+                continue;
+            }
+            long carry = 0;
+            for (int j = 0; j < yLength; j++) {
+                long t = xi * (y[yOff + j] & LIMB_MASK) + (z[zOff + i + j] & LIMB_MASK) + carry;
+                z[zOff + i + j] = (int) t;
+                carry = t >>> 32;
+            }
+            z[zOff + i + yLength] = (int) carry;
+        }
+    }
+
+    // z[zOff, zOff + 2n) = x * y for n-limb operands. With m = n/2 and h = n - m:
+    // x*y = z2*B^2m + (z1 - z2 - z0)*B^m + z0, where z1 = (xL + xH)(yL + yH).
+    private static void karatsuba(int[] x, int xOff, int[] y, int yOff, int n, int[] z, int zOff,
+                                  int[] scratch, int sOff) {
+        if (n < KARATSUBA_THRESHOLD) {
+            multiplySchoolbook(x, xOff, n, y, yOff, n, z, zOff);
+            return;
+        }
+        int m = n / 2;
+        int h = n - m;
+        karatsuba(x, xOff, y, yOff, m, z, zOff, scratch, sOff);                  // z0
+        karatsuba(x, xOff + m, y, yOff + m, h, z, zOff + 2 * m, scratch, sOff);  // z2
+
+        int sumX = sOff;
+        int sumY = sOff + h + 1;
+        int middle = sOff + 2 * (h + 1);
+        addHalves(x, xOff, m, h, scratch, sumX);
+        addHalves(y, yOff, m, h, scratch, sumY);
+        karatsuba(scratch, sumX, scratch, sumY, h + 1, scratch, middle, scratch, middle + 2 * (h + 1));
+        subtractInPlace(scratch, middle, 2 * (h + 1), z, zOff, 2 * m);
+        subtractInPlace(scratch, middle, 2 * (h + 1), z, zOff + 2 * m, 2 * h);
+        addInPlace(z, zOff + m, 2 * n - m, scratch, middle, 2 * (h + 1));
+    }
+
+    // dst[dOff, dOff + h + 1) = low m limbs + high h limbs of src
+    private static void addHalves(int[] src, int off, int m, int h, int[] dst, int dOff) {
+        long carry = 0;
+        for (int i = 0; i < h; i++) {
+            long sum = (i < m ? src[off + i] & LIMB_MASK : 0) + (src[off + m + i] & LIMB_MASK) + carry;
+            dst[dOff + i] = (int) sum;
+            carry = sum >>> 32;
+        }
+        dst[dOff + h] = (int) carry;
+    }
+
+    // a[aOff, aOff + aLength) -= b[bOff, bOff + bLength), aLength >= bLength, no final borrow
+    private static void subtractInPlace(int[] a, int aOff, int aLength, int[] b, int bOff, int bLength) {
+        long borrow = 0;
+        for (int i = 0; i < aLength && (i < bLength || borrow != 0); i++) {
+            long diff = (a[aOff + i] & LIMB_MASK) - (i < bLength ? b[bOff + i] & LIMB_MASK : 0) - borrow;
+            a[aOff + i] = (int) diff;
+            borrow = diff < 0 ? 1 : 0;
+        }
+    }
+
+    // a[aOff, aOff + aLength) += b[bOff, bOff + bLength), bLength <= aLength, no final carry
+    private static void addInPlace(int[] a, int aOff, int aLength, int[] b, int bOff, int bLength) {
+        long carry = 0;
+        for (int i = 0; i < aLength && (i < bLength || carry != 0); i++) {
+            long sum = (a[aOff + i] & LIMB_MASK) + (i < bLength ? b[bOff + i] & LIMB_MASK : 0) + carry;
+            a[aOff + i] = (int) sum;
+            carry = sum >>> 32;
+        }
+    }
+
+    private static int karatsubaScratchSize(int n) {
+        if (n < KARATSUBA_THRESHOLD) {
+            return 0;
+        }
+        int m = n / 2;
+        int h = n - m;
+        int own = 4 * (h + 1) + karatsubaScratchSize(h + 1);
+        return Math.max(own, Math.max(karatsubaScratchSize(m), karatsubaScratchSize(h)));
+    }
+
+    // Knuth's Algorithm D (TAOCP 4.3.1) on unsigned magnitudes
+    private void divideMagnitudes(int[] u, int[] v, int[] q, int[] r) {
+        java.util.Arrays.fill(q, 0);
+        java.util.Arrays.fill(r, 0);
+        int m = effectiveLength(u);
+        int n = effectiveLength(v);
+        if (m < n) {
+            System.arraycopy(u, 0, r, 0, limbs);
+            return;
+        }
+        if (n == 1) {
+            long divisor = v[0] & LIMB_MASK;
+            long rem = 0;
+            for (int i = m - 1; i >= 0; i--) {
+                long cur = (rem << 32) | (u[i] & LIMB_MASK);
+                long digit = divideUnsigned(cur, divisor);
+                q[i] = (int) digit;
+                rem = cur - digit * divisor;
+            }
+            r[0] = (int) rem;
+            return;
+        }
+
+        // D1: normalize so the divisor's top limb has its high bit set
+        int s = Integer.numberOfLeadingZeros(v[n - 1]);
+        int[] vn = normalizedDivisor;
+        int[] un = normalizedDividend;
+        for (int i = n - 1; i > 0; i--) {
+            vn[i] = s == 0 ? v[i] : (v[i] << s) | (v[i - 1] >>> (32 - s));
+        }
+        vn[0] = v[0] << s;
+        un[m] = s == 0 ? 0 : u[m - 1] >>> (32 - s);
+        for (int i = m - 1; i > 0; i--) {
+            un[i] = s == 0 ? u[i] : (u[i] << s) | (u[i - 1] >>> (32 - s));
+        }
+        un[0] = u[0] << s;
+
+        long vTop = vn[n - 1] & LIMB_MASK;
+        long vNext = vn[n - 2] & LIMB_MASK;
+        for (int j = m - n; j >= 0; j--) {
+            // D3: estimate the quotient digit from the top two dividend limbs
+            long numerator = ((un[j + n] & LIMB_MASK) << 32) | (un[j + n - 1] & LIMB_MASK);
+            long qhat = divideUnsigned(numerator, vTop);
+            long rhat = numerator - qhat * vTop;
+            while (qhat > LIMB_MASK
+                    || Long.compareUnsigned(qhat * vNext, (rhat << 32) | (un[j + n - 2] & LIMB_MASK)) > 0) {
+                qhat--;
+                rhat += vTop;
+                if (rhat > LIMB_MASK) break;
+            }
+
+            // D4: multiply and subtract
+            long k = 0;
+            long t;
+            for (int i = 0; i < n; i++) {
+                long p = qhat * (vn[i] & LIMB_MASK);
+                t = (un[i + j] & LIMB_MASK) - k - (p & LIMB_MASK);
+                un[i + j] = (int) t;
+                k = (p >>> 32) - (t >> 32);
+            }
+            t = (un[j + n] & LIMB_MASK) - k;
+            un[j + n] = (int) t;
+
+            // D5/D6: the estimate was one too large, add the divisor back
+            q[j] = (int) qhat;
+            if (t < 0) {
+                q[j]--;
+                k = 0;
+                for (int i = 0; i < n; i++) {
+                    t = (un[i + j] & LIMB_MASK) + (vn[i] & LIMB_MASK) + k;
+                    un[i + j] = (int) t;
+                    k = t >>> 32;
+                }
+                un[j + n] += (int) k;
+            }
+        }
+
+        // D8: unnormalize the remainder
+        for (int i = 0; i < n; i++) {
+            r[i] = s == 0 ? un[i] : (un[i] >>> s) | (un[i + 1] << (32 - s));
+        }
+    }
+
+    // Unsigned 64-bit by 32-bit division. Long.divideUnsigned falls back to BigInteger
+    // for dividends with the top bit set on older JDKs, which dominated Algorithm D.
+    static long divideUnsigned(long dividend, long divisor) {
+        if (dividend >= 0) {
+            return dividend / divisor;
+        }
+        long q = ((dividend >>> 1) / divisor) << 1;
+        long r = dividend - q * divisor;
+        return Long.compareUnsigned(r, divisor) >= 0 ? q + 1 : q;
+    }
+
+    // value = value * factor + addend, returns the carry out of the top limb
+    private int multiplyAddSmall(int[] value, int factor, int addend) {
+        long carry = addend;
+        for (int i = 0; i < limbs; i++) {
+            long t = (value[i] & LIMB_MASK) * factor + carry;
+            value[i] = (int) t;
+            carry = t >>> 32;
+        }
+        return (int) carry;
+    }
+
+    // --- Helpers ---
+
+    private boolean isNegative(int[] value) {
+        return value[limbs - 1] < 0;
+    }
+
+    private boolean isZero(int[] value) {
+        for (int i = 0; i < limbs; i++) {
+            if (value[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isMinusOne(int[] value) {
+        for (int i = 0; i < limbs; i++) {
+            if (value[i] != -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isMinValue(int[] value) {
+        return isMinValueMagnitude(value);
+    }
+
+    // True when the low width bits are exactly 2^(width-1)
+    private boolean isMinValueMagnitude(int[] value) {
+        if (value[limbs - 1] != Integer.MIN_VALUE) {
+            return false;
+        }
+        for (int i = 0; i < limbs - 1; i++) {
+            if (value[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void abs(int[] value, int[] dst) {
+        System.arraycopy(value, 0, dst, 0, limbs);
+        if (isNegative(value)) {
+            negate(dst);
+        }
+    }
+
+    private void negate(int[] value) {
+        long carry = 1;
+        for (int i = 0; i < limbs; i++) {
+            long t = (~value[i] & LIMB_MASK) + carry;
+            value[i] = (int) t;
+            carry = t >>> 32;
+        }
+    }
+
+    private int effectiveLength(int[] value) {
+        int length = limbs;
+        while (length > 0 && value[length - 1] == 0) {
+            length--;
+        }
+        return length;
+    }
+
+    private void checkShift(int amount) {
+        if (amount < 0 || amount >= width) {
+            throw new IllegalArgumentException("Shift amount must be between 0 and " + (width - 1));
+        }
+    }
+}
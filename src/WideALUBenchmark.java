@@ -0,0 +1,189 @@
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+
+// Cross-checks WideALU against BigInteger and compares their speed per operation.
+// Every operation is checked on random operands and on edge values (MIN, MAX, -1, 0, 1),
+// so wrap-around, overflow, division by zero and bad shift amounts are covered too: a
+// failing WideALU op must throw the same exception type and message as the reference.
+// Timed multiply operands use half the width so the product cannot overflow.
+public class WideALUBenchmark {
+
+    private static final int SAMPLES = 256;
+
+    public static void run(int iterations) {
+        SplittableRandom random = new SplittableRandom(7);
+        long mismatches = 0;
+        for (int width : WideALU.SUPPORTED_WIDTHS) {
+            WideALU alu = new WideALU(width);
+            int[][] full = new int[SAMPLES][];
+            int[][] half = new int[SAMPLES][];
+            BigInteger[] fullBig = new BigInteger[SAMPLES];
+            BigInteger[] halfBig = new BigInteger[SAMPLES];
+            for (int i = 0; i < SAMPLES; i++) {
+                full[i] = randomValue(alu, width - 2, random);
+                half[i] = randomValue(alu, width / 2 - 2, random);
+                fullBig[i] = WideALU.toBigInteger(full[i]);
+                halfBig[i] = WideALU.toBigInteger(half[i]);
+            }
+
+            int[][] any = new int[SAMPLES][];
+            int[][] edges = edgeValues(alu);
+            int[][] amounts = new int[SAMPLES][];
+            for (int i = 0; i < SAMPLES; i++) {
+                any[i] = randomValue(alu, width - 1, random);
+                // Mostly valid shift amounts, plus the first invalid ones on either side
+                int amount = i % 16 == 0 ? width : i % 16 == 1 ? -1 : random.nextInt(width);
+                amounts[i] = alu.parse(Integer.toString(amount), "Decimal");
+            }
+            for (int[][] a : new int[][][]{full, any, edges}) {
+                for (int[][] b : new int[][][]{full, half, any, edges}) {
+                    mismatches += checkAll(alu, a, b);
+                }
+                mismatches += check(alu, ALUOperation.LEFT, a, amounts,
+                    (x, y) -> wrap(x.shiftLeft(shift(y, width)), width));
+                mismatches += check(alu, ALUOperation.RIGHT, a, amounts, (x, y) -> x.shiftRight(shift(y, width)));
+            }
+
+            int[] dst = alu.newValue();
+            System.out.printf("%5d-bit  %-8s WideALU %9.1f ns/op   BigInteger %9.1f ns/op%n", width, "ADD",
+                timeWide(alu, ALUOperation.ADD, full, full, dst, iterations),
+                timeBig(fullBig, fullBig, (x, y) -> x.add(y), iterations));
+            System.out.printf("%5d-bit  %-8s WideALU %9.1f ns/op   BigInteger %9.1f ns/op%n", width, "MULTIPLY",
+                timeWide(alu, ALUOperation.MULTIPLY, half, half, dst, iterations),
+                timeBig(halfBig, halfBig, (x, y) -> x.multiply(y), iterations));
+            System.out.printf("%5d-bit  %-8s WideALU %9.1f ns/op   BigInteger %9.1f ns/op%n", width, "DIVIDE",
+                timeWide(alu, ALUOperation.DIVIDE, full, half, dst, iterations),
+                timeBig(fullBig, halfBig, (x, y) -> x.divide(y), iterations));
+        }
+        System.out.println(mismatches == 0 ? "All results match BigInteger" : mismatches + " mismatches against BigInteger");
+        if (mismatches != 0) {
+            System.exit(1);
+        }
+    }
+
+    private interface BigOp {
+        BigInteger apply(BigInteger x, BigInteger y);
+    }
+
+    // Arithmetic and logic ops with the error semantics of WideALU (and ALULogic)
+    private static long checkAll(WideALU alu, int[][] a, int[][] b) {
+        int width = alu.getWidth();
+        long mismatches = 0;
+        mismatches += check(alu, ALUOperation.ADD, a, b, (x, y) -> exact(x.add(y), width, "Addition overflow"));
+        mismatches += check(alu, ALUOperation.SUBTRACT, a, b,
+            (x, y) -> exact(x.subtract(y), width, "Subtraction overflow"));
+        mismatches += check(alu, ALUOperation.MULTIPLY, a, b,
+            (x, y) -> exact(x.multiply(y), width, "Multiplication overflow"));
+        mismatches += check(alu, ALUOperation.DIVIDE, a, b, (x, y) -> {
+            if (y.signum() == 0) {
+                throw new ArithmeticException("Division by zero");
+            }
+            return exact(x.divide(y), width, "Division overflow");
+        });
+        mismatches += check(alu, ALUOperation.MODULO, a, b, (x, y) -> {
+            if (y.signum() == 0) {
+                throw new ArithmeticException("Modulo by zero");
+            }
+            return x.remainder(y);
+        });
+        mismatches += check(alu, ALUOperation.AND, a, b, (x, y) -> x.and(y));
+        mismatches += check(alu, ALUOperation.OR, a, b, (x, y) -> x.or(y));
+        mismatches += check(alu, ALUOperation.NOT, a, b, (x, y) -> x.not());
+        return mismatches;
+    }
+
+    // Compares results, or the exception type and message when either side fails
+    private static long check(WideALU alu, ALUOperation op, int[][] a, int[][] b, BigOp reference) {
+        long mismatches = 0;
+        int[] dst = alu.newValue();
+        for (int i = 0; i < a.length; i++) {
+            int j = (i * 31 + 7) % b.length;
+            BigInteger x = WideALU.toBigInteger(a[i]);
+            BigInteger y = WideALU.toBigInteger(b[j]);
+            String actual;
+            try {
+                alu.apply(op, a[i], b[j], dst);
+                actual = WideALU.toBigInteger(dst).toString();
+            } catch (ArithmeticException | IllegalArgumentException e) {
+                actual = e.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+            String expected;
+            try {
+                expected = reference.apply(x, y).toString();
+            } catch (ArithmeticException | IllegalArgumentException e) {
+                expected = e.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+            if (!actual.equals(expected) && mismatches++ < 5) {
+                System.out.println("Mismatch " + alu.getWidth() + "-bit " + op + ": " + x + ", " + y
+                    + " -> " + actual + " expected " + expected);
+            }
+        }
+        return mismatches;
+    }
+
+    private static BigInteger exact(BigInteger value, int width, String overflowMessage) {
+        if (value.bitLength() >= width) {
+            throw new ArithmeticException(overflowMessage);
+        }
+        return value;
+    }
+
+    // Low width bits of value as a signed width-bit number
+    private static BigInteger wrap(BigInteger value, int width) {
+        BigInteger modulus = BigInteger.ONE.shiftLeft(width);
+        BigInteger low = value.mod(modulus);
+        return low.testBit(width - 1) ? low.subtract(modulus) : low;
+    }
+
+    private static int shift(BigInteger amount, int width) {
+        if (amount.signum() < 0 || amount.compareTo(BigInteger.valueOf(width)) >= 0) {
+            throw new IllegalArgumentException("Shift amount must be between 0 and " + (width - 1));
+        }
+        return amount.intValue();
+    }
+
+    // MIN, MIN + 1, -2, -1, 0, 1, 2, MAX - 1, MAX, repeated to fill the samples
+    private static int[][] edgeValues(WideALU alu) {
+        BigInteger max = BigInteger.ONE.shiftLeft(alu.getWidth() - 1).subtract(BigInteger.ONE);
+        BigInteger min = max.negate().subtract(BigInteger.ONE);
+        BigInteger[] values = {min, min.add(BigInteger.ONE), BigInteger.valueOf(-2), BigInteger.valueOf(-1),
+            BigInteger.ZERO, BigInteger.ONE, BigInteger.valueOf(2), max.subtract(BigInteger.ONE), max};
+        int[][] edges = new int[SAMPLES][];
+        for (int i = 0; i < SAMPLES; i++) {
+            edges[i] = alu.parse(values[i % values.length].toString(), "Decimal");
+        }
+        return edges;
+    }
+
+    private static double timeWide(WideALU alu, ALUOperation op, int[][] a, int[][] b, int[] dst, int iterations) {
+        for (int i = 0; i < iterations; i++) { // Warm-up
+            alu.apply(op, a[i % SAMPLES], b[(i * 31 + 7) % SAMPLES], dst);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            alu.apply(op, a[i % SAMPLES], b[(i * 31 + 7) % SAMPLES], dst);
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+
+    private static double timeBig(BigInteger[] a, BigInteger[] b, BigOp op, int iterations) {
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += op.apply(a[i % SAMPLES], b[(i * 31 + 7) % SAMPLES]).signum();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += op.apply(a[i % SAMPLES], b[(i * 31 + 7) % SAMPLES]).signum();
+        }
+        double perOp = (System.nanoTime() - start) / (double) iterations;
+        return sink == Integer.MIN_VALUE ? -1 : perOp; // Keeps the results live
+    }
+
+    // Random signed value with up to `bits` magnitude bits (never zero)
+    private static int[] randomValue(WideALU alu, int bits, SplittableRandom random) {
+        int used = 1 + random.nextInt(bits);
+        BigInteger magnitude = new BigInteger(used, new java.util.Random(random.nextLong())).setBit(0);
+        BigInteger value = random.nextBoolean() ? magnitude.negate() : magnitude;
+        return alu.parse(value.toString(16), "Hexadecimal");
+    }
+}